@@ -0,0 +1,122 @@
+package com.example.supermarketsimulation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Zapis rekordów w osobnym wątku: write tylko wstawia rekord do ograniczonej kolejki (zdarzenia przychodzą pod
+// zamkami monitora), a wątek zapisu przekazuje rekordy paczkami do plików. Pełna kolejka wstrzymuje
+// wywołującego, dopóki zapis nie nadąży, więc pamięć jest ograniczona. Kolejność rekordów się nie zmienia.
+public final class AsyncClientRecordWriter implements ClientRecordWriter {
+    public static final int DEFAULT_CAPACITY = 8192;
+    private static final int BATCH_SIZE = 1024;
+    private static final ClientRecord END = new ClientRecord(-1, -1, -1, -1, -1, -1, -1); // Koniec rekordów
+
+    private final List<ClientRecordWriter> writers;
+    private final BlockingQueue<ClientRecord> queue;
+    private final Thread thread;
+    private volatile IOException error; // Pierwszy błąd zapisu (kolejne rekordy są pomijane)
+    private boolean closed;
+
+    public AsyncClientRecordWriter(List<ClientRecordWriter> writers) {
+        this(writers, DEFAULT_CAPACITY);
+    }
+
+    public AsyncClientRecordWriter(List<ClientRecordWriter> writers, int capacity) {
+        this.writers = List.copyOf(writers);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.thread = new Thread(this::writeRecords, "client-record-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public synchronized void write(ClientRecord record) throws IOException {
+        if (error != null) {
+            throw error;
+        }
+        if (closed) {
+            throw new IOException("Zapis rekordów klientów został zamknięty");
+        }
+        putUninterruptibly(record);
+    }
+
+    // Przerwanie wątku symulacji (np. koniec pracy kasjera) nie może zgubić rekordu
+    private void putUninterruptibly(ClientRecord record) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(record);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeRecords() {
+        List<ClientRecord> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                for (ClientRecord record : batch) {
+                    if (record == END) {
+                        return;
+                    }
+                    if (error == null) {
+                        try {
+                            for (ClientRecordWriter writer : writers) {
+                                writer.write(record);
+                            }
+                        } catch (IOException e) {
+                            error = e;
+                        }
+                    }
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Zapis pozostałych rekordów i zamknięcie plików
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        putUninterruptibly(END);
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        IOException closeError = error;
+        for (ClientRecordWriter writer : writers) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                if (closeError == null) {
+                    closeError = e;
+                }
+            }
+        }
+        if (closeError != null) {
+            throw closeError;
+        }
+    }
+}
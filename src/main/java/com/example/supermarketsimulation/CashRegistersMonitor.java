@@ -1,56 +1,353 @@
 package com.example.supermarketsimulation;
 
-import javafx.scene.paint.Color;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 public class CashRegistersMonitor {
-    private final SupermarketController controller;
-    private final List<Queue<Integer>> queues; // Lista kolejek dla każdej kasy
+    public static final long NO_WAITING_CLIENTS = -1; // Wynik expireImpatientClients: nikt teraz nie czeka
+    public static final long PATIENCE_FINISHED = -2; // Wynik expireImpatientClients: nikt już nie będzie czekał
+
+    private final SimulationView view;
+    private final SimulationClock clock;
+    private final ClientBehavior behavior;
+    private final List<SimulationListener> listeners = new CopyOnWriteArrayList<>(); // Odbiorcy zdarzeń
+    // Kolejki do kas; klienci, którzy odeszli z kolejki, zostają w niej do czasu dojścia do początku lub końca
+    // kolejki i są wtedy pomijani (pierwszy klient kolejki zawsze na nią czeka)
+    private final List<Deque<Integer>> queues;
+    private final QueueLengthIndex queueLengths; // Liczba klientów czekających w każdej kolejce
+    private final QueueTelemetry telemetry; // Historia długości kolejek, czytana bez zamków
     private final List<ReentrantLock> locks; // Zamki dla każdej kolejki
     private final List<Boolean> openStatus; // Status otwarcia każdej kasy
     private final Queue<Integer> operationQueue = new LinkedList<>(); // Kolejka operacji
     private final ReentrantLock globalLock = new ReentrantLock(); // Globalny zamek
     private boolean isOperationActive = false; // Flaga wskazująca czy operacja jest aktywna
     private int totalClients; // Całkowita liczba klientów do obsłużenia
+    private int announcedClients; // Liczba klientów, którzy już przyszli do sklepu
+    private final Set<Integer> pendingArrivals = new LinkedHashSet<>(); // Klienci w drodze do kolejki
+    private final Queue<Integer> patienceOrder = new ArrayDeque<>(); // Klienci w kolejności upływu cierpliwości
+    private long[] patienceDeadlines = new long[64]; // Klient -> chwila, w której traci cierpliwość
+    private int[] waitingRegisters = new int[64]; // Klient -> kasa, w której kolejce czeka (0 - nie czeka)
+    // Dla każdej kolejki: klienci, którzy odeszli, a ich wpis jest jeszcze w kolejce (zmiany pod zamkiem kolejki)
+    private final List<BitSet> departedClients;
+    private int balkedClients; // Klienci, którzy zrezygnowali z zakupów
+    private int renegedClients; // Klienci, którzy odeszli z kolejki
+    private int jockeyMoves; // Przejścia klientów do innej kolejki
+
+    // Stan monitora zapisywany w punkcie kontrolnym
+    public record State(int totalClients, int announcedClients, int[] pendingArrivals, int[][] queues,
+                        boolean[] openStatus, int[] operationQueue, boolean operationActive,
+                        int[] patienceClients, long[] patienceDeadlines, int balkedClients, int renegedClients,
+                        int jockeyMoves) {
+    }
 
-    public CashRegistersMonitor(int numRegisters, int numClients, SupermarketController controller) {
+    public CashRegistersMonitor(int numRegisters, int numClients, ClientBehavior behavior, SimulationView view,
+                                SimulationClock clock) {
         queues = new ArrayList<>(numRegisters);
         locks = new ArrayList<>(numRegisters);
         openStatus = new ArrayList<>(numRegisters);
+        departedClients = new ArrayList<>(numRegisters);
         for (int i = 0; i < numRegisters; i++) {
-            queues.add(new LinkedList<>());
+            queues.add(new ArrayDeque<>());
+            departedClients.add(new BitSet());
             ReentrantLock lock = new ReentrantLock();
             locks.add(lock);
             openStatus.add(true);
         }
+        queueLengths = new QueueLengthIndex(numRegisters);
+        telemetry = new QueueTelemetry(numRegisters, clock.now());
         totalClients = numClients;
-        this.controller = controller;
+        this.behavior = behavior;
+        this.view = view;
+        this.clock = clock;
+    }
+
+    // Odtworzenie monitora z punktu kontrolnego
+    public CashRegistersMonitor(State state, ClientBehavior behavior, SimulationView view, SimulationClock clock) {
+        this(state.queues().length, state.totalClients(), behavior, view, clock);
+        announcedClients = state.announcedClients();
+        for (int clientId : state.pendingArrivals()) {
+            pendingArrivals.add(clientId);
+        }
+        for (int i = 0; i < state.queues().length; i++) {
+            for (int clientId : state.queues()[i]) {
+                queues.get(i).add(clientId);
+                setWaitingRegister(clientId, i + 1);
+            }
+            queueLengths.add(i, state.queues()[i].length);
+            telemetry.recordLength(i, clock.now(), state.queues()[i].length);
+            openStatus.set(i, state.openStatus()[i]);
+            queueLengths.setOpen(i, state.openStatus()[i]);
+        }
+        for (int registerId : state.operationQueue()) {
+            operationQueue.add(registerId);
+        }
+        for (int i = 0; i < state.patienceClients().length; i++) {
+            setPatienceDeadline(state.patienceClients()[i], state.patienceDeadlines()[i]);
+            patienceOrder.add(state.patienceClients()[i]);
+        }
+        balkedClients = state.balkedClients();
+        renegedClients = state.renegedClients();
+        jockeyMoves = state.jockeyMoves();
+        // Przerwana operacja (przerwa/zmiana) zostanie wykonana od początku przez odtworzonego kasjera
+        isOperationActive = false;
+    }
+
+    public void addListener(SimulationListener listener) {
+        listeners.add(listener);
+    }
+
+    // Przyjście klienta do sklepu (przed ustawieniem się w kolejce)
+    public void announceClient(int clientId) {
+        globalLock.lock();
+        try {
+            announcedClients++;
+            pendingArrivals.add(clientId);
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    // Klient przekazany z innego sklepu (nie należy do puli klientów tego sklepu)
+    public void admitTransferredClient(int clientId) {
+        globalLock.lock();
+        try {
+            totalClients++;
+            pendingArrivals.add(clientId);
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    // Klient z puli tego sklepu przeszedł do innego sklepu
+    public void divertClient() {
+        globalLock.lock();
+        try {
+            announcedClients++;
+            totalClients--;
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    // Rezerwacja (delta > 0) lub zwolnienie (delta < 0) miejsc dla klientów, którzy mogą jeszcze przyjść
+    public void adjustExpectedClients(int delta) {
+        globalLock.lock();
+        try {
+            totalClients += delta;
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    // Długość najkrótszej otwartej kolejki
+    public int shortestQueueLength() {
+        globalLock.lock();
+        try {
+            int index = chooseShortestQueue();
+            return index < 0 ? Integer.MAX_VALUE : queueLengths.length(index);
+        } finally {
+            globalLock.unlock();
+        }
     }
 
-    // Wejście klienta do kolejki
-    public void enterQueue(int clientId) {
+    // Wejście klienta do kolejki; false - klient zrezygnował, bo najkrótsza kolejka była za długa
+    public boolean enterQueue(int clientId) {
         globalLock.lock();
         try {
             int selectedQueue = chooseShortestQueue();
+            if (behavior.isBalking() && queueLengths.length(selectedQueue) >= behavior.balkQueueLength()) {
+                balk(clientId, queueLengths.length(selectedQueue));
+                return false;
+            }
             locks.get(selectedQueue).lock();
             try {
+                int queueLength = queueLengths.length(selectedQueue);
                 queues.get(selectedQueue).add(clientId);
+                queueLengths.add(selectedQueue, 1);
+                setWaitingRegister(clientId, selectedQueue + 1);
+                pendingArrivals.remove(clientId);
+                long time = clock.now();
+                telemetry.recordArrival(selectedQueue, time, queueLengths.length(selectedQueue));
+                if (behavior.isReneging()) {
+                    setPatienceDeadline(clientId, time + behavior.patienceMillis());
+                    patienceOrder.add(clientId);
+                }
+                for (SimulationListener listener : listeners) {
+                    listener.clientEntered(time, clientId, selectedQueue + 1, queueLength);
+                }
                 printQueueStatus("Klient " + clientId + " ustawił się w kolejce do kasy " + (selectedQueue + 1));
                 totalClients--;
-                controller.createClientCircle(clientId);
-                controller.moveClientToCashRegister(clientId, selectedQueue + 1);
+                view.createClientCircle(clientId);
+                view.moveClientToCashRegister(clientId, selectedQueue + 1);
             } finally {
                 locks.get(selectedQueue).unlock();
             }
+            return true;
         } finally {
             globalLock.unlock();
         }
     }
 
+    // Rezygnacja klienta z zakupów (pod globalnym zamkiem)
+    private void balk(int clientId, int queueLength) {
+        pendingArrivals.remove(clientId);
+        totalClients--;
+        balkedClients++;
+        long time = clock.now();
+        for (SimulationListener listener : listeners) {
+            listener.clientBalked(time, clientId, queueLength);
+        }
+        view.log("Klient %d rezygnuje z zakupów, najkrótsza kolejka ma %d osób.\n", clientId, queueLength);
+    }
+
+    // Odejście klientów, których cierpliwość się skończyła (pierwszy klient kolejki już nie odchodzi);
+    // wynik - chwila najbliższego kolejnego terminu, NO_WAITING_CLIENTS lub PATIENCE_FINISHED.
+    // Terminy są w kolejności wejścia do kolejek, więc sprawdzany jest tylko początek tej kolejności
+    // (terminy, które minęły, i klienci, którzy już nie czekają).
+    public long expireImpatientClients() {
+        globalLock.lock();
+        try {
+            long now = clock.now();
+            boolean departed = false;
+            Integer clientId;
+            while ((clientId = patienceOrder.peek()) != null
+                    && (patienceDeadlines[clientId] <= now || getWaitingRegister(clientId) == 0)) {
+                patienceOrder.poll();
+                int registerId = getWaitingRegister(clientId);
+                if (registerId != 0 && !clientId.equals(queues.get(registerId - 1).peek())) {
+                    renege(clientId, registerId, now);
+                    departed = true;
+                }
+            }
+            if (departed) {
+                rebalanceQueues();
+            }
+            if (clientId != null) {
+                return patienceDeadlines[clientId];
+            }
+            return totalClients > 0 ? NO_WAITING_CLIENTS : PATIENCE_FINISHED;
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    // Odejście klienta z kolejki; jego wpis zostaje w kolejce i jest pomijany (pod globalnym zamkiem)
+    private void renege(int clientId, int registerId, long time) {
+        int queueIndex = registerId - 1;
+        locks.get(queueIndex).lock();
+        try {
+            departedClients.get(queueIndex).set(clientId);
+            queueLengths.add(queueIndex, -1);
+            telemetry.recordDeparture(queueIndex, time, queueLengths.length(queueIndex));
+            setWaitingRegister(clientId, 0);
+            renegedClients++;
+            for (SimulationListener listener : listeners) {
+                listener.clientReneged(time, clientId, registerId);
+            }
+            view.removeClientCircle(clientId);
+            view.shiftClientCirclesUp(registerId);
+            printQueueStatus("Klient " + clientId + " stracił cierpliwość i opuścił kolejkę do kasy " + registerId);
+        } finally {
+            locks.get(queueIndex).unlock();
+        }
+    }
+
+    // Przejścia ostatnich klientów najdłuższej kolejki do najkrótszej otwartej, dopóki się opłacają.
+    // Wywoływane tylko po zdarzeniach, które skracają kolejkę albo otwierają lub zamykają kasę, a najdłuższa
+    // i najkrótsza kolejka są odczytywane z liczników, bez przeglądania kolejek (pod globalnym zamkiem).
+    private void rebalanceQueues() {
+        if (!behavior.isJockeying()) {
+            return;
+        }
+        while (true) {
+            int from = queueLengths.longest();
+            int to = queueLengths.shortestOpen();
+            if (from < 0 || to < 0 || from == to) {
+                return;
+            }
+            // Ostatni klient ma przed sobą fromLength - 1 osób (pierwszy jest już obsługiwany), po przejściu toLength
+            int fromLength = queueLengths.length(from);
+            int toLength = queueLengths.length(to);
+            if (fromLength < 2 || fromLength - 1 - toLength < behavior.jockeyThreshold()) {
+                return;
+            }
+            moveLastClient(from, to);
+        }
+    }
+
+    private void moveLastClient(int from, int to) {
+        ReentrantLock first = locks.get(Math.min(from, to));
+        ReentrantLock second = locks.get(Math.max(from, to));
+        first.lock();
+        second.lock();
+        try {
+            Deque<Integer> source = queues.get(from);
+            BitSet departed = departedClients.get(from);
+            int clientId = source.pollLast();
+            while (departed.get(clientId)) {
+                departed.clear(clientId);
+                clientId = source.pollLast();
+            }
+            queueLengths.add(from, -1);
+            int queueLength = queueLengths.length(to);
+            queues.get(to).add(clientId);
+            queueLengths.add(to, 1);
+            setWaitingRegister(clientId, to + 1);
+            jockeyMoves++;
+            long time = clock.now();
+            telemetry.recordDeparture(from, time, queueLengths.length(from));
+            telemetry.recordArrival(to, time, queueLengths.length(to));
+            for (SimulationListener listener : listeners) {
+                listener.clientJockeyed(time, clientId, from + 1, to + 1, queueLength);
+            }
+            view.moveClientToCashRegister(clientId, to + 1);
+            printQueueStatus("Klient " + clientId + " przeszedł z kolejki do kasy " + (from + 1) + " do kasy " + (to + 1));
+        } finally {
+            second.unlock();
+            first.unlock();
+        }
+    }
+
+    // Usunięcie z początku kolejki wpisów klientów, którzy z niej odeszli
+    private void skipDepartedClients(int queueIndex) {
+        Deque<Integer> queue = queues.get(queueIndex);
+        BitSet departed = departedClients.get(queueIndex);
+        Integer head;
+        while ((head = queue.peek()) != null && departed.get(head)) {
+            queue.poll();
+            departed.clear(head);
+        }
+    }
+
+    private int getWaitingRegister(int clientId) {
+        return clientId < waitingRegisters.length ? waitingRegisters[clientId] : 0;
+    }
+
+    private void setWaitingRegister(int clientId, int registerId) {
+        if (clientId >= waitingRegisters.length) {
+            waitingRegisters = Arrays.copyOf(waitingRegisters, Math.max(clientId + 1, waitingRegisters.length * 2));
+        }
+        waitingRegisters[clientId] = registerId;
+    }
+
+    private void setPatienceDeadline(int clientId, long deadline) {
+        if (clientId >= patienceDeadlines.length) {
+            patienceDeadlines = Arrays.copyOf(patienceDeadlines, Math.max(clientId + 1, patienceDeadlines.length * 2));
+        }
+        patienceDeadlines[clientId] = deadline;
+    }
+
     // Pobranie klienta z kolejki
     public Integer getClientFromQueue(int registerId) {
         int queueIndex = registerId - 1;
@@ -66,26 +363,47 @@ public class CashRegistersMonitor {
     }
 
     // Rozpoczęcie obsługi klienta
-    public void startServing(int clientId, int registerId) {
-        System.out.printf("Kasjer w kasie %d rozpoczął obsługę klienta %d.\n", registerId, clientId);
-        controller.updateClientCircleColor(clientId, Color.GREEN);
+    public void startServing(int clientId, int registerId, int cashierId) {
+        int queueIndex = registerId - 1;
+        locks.get(queueIndex).lock();
+        try {
+            long time = clock.now();
+            for (SimulationListener listener : listeners) {
+                listener.serviceStarted(time, clientId, registerId, cashierId);
+            }
+        } finally {
+            locks.get(queueIndex).unlock();
+        }
+        view.log("Kasjer w kasie %d rozpoczął obsługę klienta %d.\n", registerId, clientId);
+        view.updateClientState(clientId, ClientState.IN_SERVICE);
     }
 
-    //Zakończenie obsługi klienta
-    public void finishServing(int registerId, int clientId) {
+    //Zakończenie obsługi klienta; cashierUpdate - zmiana stanu kasjera pod globalnym zamkiem, razem z usunięciem
+    // klienta z kolejki (punkt kontrolny nie zobaczy obsłużonego klienta w kolejce ze stanem kasjera po obsłudze)
+    public void finishServing(int registerId, int clientId, int cashierId, Runnable cashierUpdate) {
         int queueIndex = registerId - 1;
         globalLock.lock();
         try {
+            cashierUpdate.run();
             locks.get(queueIndex).lock();
             try {
                 queues.get(queueIndex).poll();
-                controller.updateClientCircleColor(clientId, Color.BLACK);
-                controller.removeClientCircle(clientId);
-                controller.shiftClientCirclesUp(registerId);
+                queueLengths.add(queueIndex, -1);
+                setWaitingRegister(clientId, 0);
+                skipDepartedClients(queueIndex);
+                long time = clock.now();
+                telemetry.recordDeparture(queueIndex, time, queueLengths.length(queueIndex));
+                for (SimulationListener listener : listeners) {
+                    listener.serviceFinished(time, clientId, registerId, cashierId);
+                }
+                view.updateClientState(clientId, ClientState.SERVED);
+                view.removeClientCircle(clientId);
+                view.shiftClientCirclesUp(registerId);
                 printQueueStatus("Kasjer w kasie " + registerId + " zakończył obsługę klienta " + clientId);
             } finally {
                 locks.get(queueIndex).unlock();
             }
+            rebalanceQueues();
         } finally {
             globalLock.unlock();
         }
@@ -112,14 +430,36 @@ public class CashRegistersMonitor {
         }
     }
 
+    // Koniec pracy kasjera, jeśli jego kolejka jest pusta i nikt już nie przyjdzie; kasa przestaje wtedy przyjmować
+    // klientów zmieniających kolejkę (sprawdzenie i wyłączenie pod jednym zamkiem, żeby nikt nie przeszedł w międzyczasie)
+    public boolean finishWork(int registerId) {
+        int queueIndex = registerId - 1;
+        globalLock.lock();
+        try {
+            if (totalClients > 0 || !queues.get(queueIndex).isEmpty()) {
+                return false;
+            }
+            queueLengths.setOpen(queueIndex, false);
+            return true;
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
     // Zamknięcie kasy
     public void closeRegister(int registerId) {
         int queueIndex = registerId - 1;
         globalLock.lock();
         try {
             openStatus.set(queueIndex, false);
-            controller.updateCashRegisterColor(registerId, Color.ORANGE);
-            System.out.printf("Kasa %d się zamyka, przestaje przyjmować klientów.\n", registerId);
+            queueLengths.setOpen(queueIndex, false);
+            long time = clock.now();
+            for (SimulationListener listener : listeners) {
+                listener.registerClosed(time, registerId);
+            }
+            view.updateCashRegisterState(registerId, RegisterState.CLOSING);
+            view.log("Kasa %d się zamyka, przestaje przyjmować klientów.\n", registerId);
+            rebalanceQueues(); // Klienci zamykanej kasy mogą przejść do otwartych
         } finally {
             globalLock.unlock();
         }
@@ -127,9 +467,17 @@ public class CashRegistersMonitor {
 
     // Otwarcie kasy
     public void openRegister(int registerId) {
+        openRegister(registerId, () -> {
+        });
+    }
+
+    // Otwarcie kasy razem ze zmianą stanu kasjera (np. koniec przerwy); zmiana jest wykonywana pod globalnym
+    // zamkiem, więc punkt kontrolny widzi albo oba stany sprzed otwarcia, albo oba po nim
+    public void openRegister(int registerId, Runnable cashierUpdate) {
         int queueIndex = registerId - 1;
         globalLock.lock();
         try {
+            cashierUpdate.run();
             Integer operationPeek = operationQueue.peek();
             if (isOperationActive) {
                 isOperationActive = false;
@@ -138,32 +486,48 @@ public class CashRegistersMonitor {
                 operationQueue.poll();
             }
             openStatus.set(queueIndex, true);
-            controller.updateCashRegisterColor(registerId, Color.GREEN);
-            System.out.printf("Kasa %d się otwiera.\n", registerId);
+            queueLengths.setOpen(queueIndex, true);
+            long time = clock.now();
+            for (SimulationListener listener : listeners) {
+                listener.registerOpened(time, registerId);
+            }
+            view.updateCashRegisterState(registerId, RegisterState.OPEN);
+            view.log("Kasa %d się otwiera.\n", registerId);
+            rebalanceQueues();
         } finally {
             globalLock.unlock();
         }
     }
 
-    // Prośba o przerwę
-    public void requestBreak(int registerId) {
+    // Prośba o przerwę; cashierUpdate - zmiana stanu kasjera pod globalnym zamkiem, razem z wpisem do kolejki operacji
+    public void requestBreak(int registerId, Runnable cashierUpdate) {
         globalLock.lock();
         try {
+            cashierUpdate.run();
             operationQueue.add(registerId);
-            controller.updateCashRegisterColor(registerId, Color.YELLOW);
-            System.out.printf("Kasjer w kasie %d chce przerwę\n", registerId);
+            view.updateCashRegisterState(registerId, RegisterState.BREAK_REQUESTED);
+            long time = clock.now();
+            for (SimulationListener listener : listeners) {
+                listener.breakRequested(time, registerId);
+            }
+            view.log("Kasjer w kasie %d chce przerwę\n", registerId);
         } finally {
             globalLock.unlock();
         }
     }
 
-    // Prośba o zmianę
-    public void requestChange(int registerId) {
+    // Prośba o zmianę; cashierUpdate - jak w requestBreak
+    public void requestChange(int registerId, Runnable cashierUpdate) {
         globalLock.lock();
         try {
+            cashierUpdate.run();
             operationQueue.add(registerId);
-            controller.updateCashRegisterColor(registerId, Color.BLUE);
-            System.out.printf("Kasjer w kasie %d chce zmianę\n", registerId);
+            view.updateCashRegisterState(registerId, RegisterState.CHANGE_REQUESTED);
+            long time = clock.now();
+            for (SimulationListener listener : listeners) {
+                listener.changeRequested(time, registerId);
+            }
+            view.log("Kasjer w kasie %d chce zmianę\n", registerId);
         } finally {
             globalLock.unlock();
         }
@@ -174,8 +538,12 @@ public class CashRegistersMonitor {
         globalLock.lock();
         try {
             isOperationActive = true;
-            System.out.printf("Kasjer w kasie %d jest na przerwie.\n", registerId);
-            controller.updateCashRegisterColor(registerId, Color.RED);
+            view.log("Kasjer w kasie %d jest na przerwie.\n", registerId);
+            long time = clock.now();
+            for (SimulationListener listener : listeners) {
+                listener.breakStarted(time, registerId);
+            }
+            view.updateCashRegisterState(registerId, RegisterState.ON_BREAK);
         } finally {
             globalLock.unlock();
         }
@@ -186,9 +554,13 @@ public class CashRegistersMonitor {
         globalLock.lock();
         try {
             isOperationActive = true;
-            controller.removeCashierCircle(registerId);
-            System.out.printf("W kasie %d zmieniany jest kasjer.\n", registerId);
-            controller.updateCashRegisterColor(registerId, Color.LIGHTBLUE);
+            view.removeCashierCircle(registerId);
+            long time = clock.now();
+            for (SimulationListener listener : listeners) {
+                listener.cashierChangeStarted(time, registerId);
+            }
+            view.log("W kasie %d zmieniany jest kasjer.\n", registerId);
+            view.updateCashRegisterState(registerId, RegisterState.CHANGING);
         } finally {
             globalLock.unlock();
         }
@@ -210,41 +582,135 @@ public class CashRegistersMonitor {
         }
     }
 
-    // Wybór najkrótszej kolejki
+    // Wybór najkrótszej otwartej kolejki (przy równych długościach - kasa o niższym numerze)
     public int chooseShortestQueue() {
-        int shortestQueueIndex = -1;
-        int minSize = Integer.MAX_VALUE;
-
-        for (int i = 0; i < queues.size(); i++) {
-            if (openStatus.get(i) && queues.get(i).size() < minSize) {
-                shortestQueueIndex = i;
-                minSize = queues.get(i).size();
-            }
-        }
-        return shortestQueueIndex;
+        return queueLengths.shortestOpen();
     }
 
     // Wypisanie statusu kolejek
     private void printQueueStatus(String message) {
+        if (!view.isLogging()) {
+            return;
+        }
         StringBuilder status = new StringBuilder(message + " [");
         for (int i = 0; i < queues.size(); i++) {
-            status.append("k").append(i + 1).append(" - ").append(queues.get(i).size());
+            status.append("k").append(i + 1).append(" - ").append(queueLengths.length(i));
             if (i < queues.size() - 1) {
                 status.append(", ");
             }
         }
-        status.append("]");
-        System.out.println(status);
+        status.append("]\n");
+        view.log("%s", status);
     }
 
-    // Pobranie id klientów z kolejki do danej kasy
+    // Pobranie id klientów z kolejki do danej kasy (tylko pod zamkiem tej kolejki - wołane przez GUI przy
+    // każdej animacji)
     public List<Integer> getQueueClientIds(int registerId) {
         int queueIndex = registerId - 1;
         locks.get(queueIndex).lock();
         try {
-            return new ArrayList<>(queues.get(queueIndex));
+            return waitingClients(queueIndex);
         } finally {
             locks.get(queueIndex).unlock();
         }
     }
-}
\ No newline at end of file
+
+    // Klienci czekający w kolejce, bez wpisów klientów, którzy odeszli (pod zamkiem kolejki lub globalnym zamkiem -
+    // kolejka i jej odejścia zmieniają się tylko pod oboma)
+    private List<Integer> waitingClients(int queueIndex) {
+        BitSet departed = departedClients.get(queueIndex);
+        List<Integer> clientIds = new ArrayList<>(queueLengths.length(queueIndex));
+        for (int clientId : queues.get(queueIndex)) {
+            if (!departed.get(clientId)) {
+                clientIds.add(clientId);
+            }
+        }
+        return clientIds;
+    }
+
+    // Historia kolejek do raportów (odczyt bez zamków)
+    public QueueTelemetry getQueueTelemetry() {
+        return telemetry;
+    }
+
+    // Wykonanie akcji pod globalnym zamkiem (spójny zrzut stanu)
+    public <T> T withGlobalLock(Supplier<T> action) {
+        globalLock.lock();
+        try {
+            return action.get();
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    // Zrzut stanu monitora
+    public State captureState() {
+        globalLock.lock();
+        try {
+            int[][] queueSnapshot = new int[queues.size()][];
+            boolean[] openSnapshot = new boolean[queues.size()];
+            for (int i = 0; i < queues.size(); i++) {
+                queueSnapshot[i] = waitingClients(i).stream().mapToInt(Integer::intValue).toArray();
+                openSnapshot[i] = openStatus.get(i);
+            }
+            // Terminy cierpliwości tylko klientów, którzy wciąż czekają
+            int[] patienceClients = patienceOrder.stream()
+                    .filter(clientId -> getWaitingRegister(clientId) != 0)
+                    .mapToInt(Integer::intValue).toArray();
+            long[] deadlines = new long[patienceClients.length];
+            for (int i = 0; i < patienceClients.length; i++) {
+                deadlines[i] = patienceDeadlines[patienceClients[i]];
+            }
+            return new State(totalClients, announcedClients,
+                    pendingArrivals.stream().mapToInt(Integer::intValue).toArray(), queueSnapshot, openSnapshot,
+                    operationQueue.stream().mapToInt(Integer::intValue).toArray(), isOperationActive,
+                    patienceClients, deadlines, balkedClients, renegedClients, jockeyMoves);
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    public int getAnnouncedClients() {
+        globalLock.lock();
+        try {
+            return announcedClients;
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    public int getRegisterCount() {
+        return queues.size();
+    }
+
+    public ClientBehavior getClientBehavior() {
+        return behavior;
+    }
+
+    public int getBalkedClients() {
+        globalLock.lock();
+        try {
+            return balkedClients;
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    public int getRenegedClients() {
+        globalLock.lock();
+        try {
+            return renegedClients;
+        } finally {
+            globalLock.unlock();
+        }
+    }
+
+    public int getJockeyMoves() {
+        globalLock.lock();
+        try {
+            return jockeyMoves;
+        } finally {
+            globalLock.unlock();
+        }
+    }
+}
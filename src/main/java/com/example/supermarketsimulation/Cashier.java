@@ -1,47 +1,73 @@
 package com.example.supermarketsimulation;
 
-import javafx.scene.paint.Color;
-import java.util.concurrent.ThreadLocalRandom;
-
 public class Cashier implements Runnable {
     private final int cashierId;
     private final int registerId;
     private final CashRegistersMonitor monitor;
-    private final SupermarketController controller;
+    private final SupermarketSimulation simulation;
+    private final SimulationView view;
+    private final SimulationClock clock;
+    private final SimulationRandom random;
     private final int minUseTime;
     private final int maxUseTime;
-    private long totalServiceTime;
-    private boolean breakRequested; // Flaga prośby o przerwę
-    private boolean changeRequested; // Flaga prośby o zmianę
-    private boolean afterBreak; // Flaga czy kasjer jest juz po przerwie
+    // Pola stanu są odczytywane przez wątek zapisujący punkty kontrolne (pod globalnym zamkiem monitora);
+    // flagi przerwy i zmiany są zmieniane tylko w wywołaniach monitora, razem ze stanem kasy i kolejki operacji
+    private volatile long totalServiceTime;
+    private volatile boolean breakRequested; // Flaga prośby o przerwę
+    private volatile boolean changeRequested; // Flaga prośby o zmianę
+    private volatile boolean afterBreak; // Flaga czy kasjer jest juz po przerwie
+    // Stan generatora po ostatniej zakończonej obsłudze: obsługa przerwana zapisem punktu kontrolnego jest po
+    // odtworzeniu powtarzana i losuje ten sam czas
+    private volatile long checkpointRandomState;
     private int simulationTime;
 
-    public Cashier(int cashierId, int registerId, CashRegistersMonitor monitor, int minUseTime, int maxUseTime, SupermarketController controller) {
+    // Stan kasjera zapisywany w punkcie kontrolnym
+    public record State(int cashierId, int registerId, long totalServiceTime, boolean breakRequested,
+                        boolean changeRequested, boolean afterBreak, long randomState) {
+    }
+
+    public Cashier(int cashierId, int registerId, CashRegistersMonitor monitor, int minUseTime, int maxUseTime,
+                   SupermarketSimulation simulation, SimulationRandom random) {
         this.cashierId = cashierId;
         this.registerId = registerId;
         this.monitor = monitor;
         this.minUseTime = minUseTime;
         this.maxUseTime = maxUseTime;
-        this.controller = controller;
+        this.simulation = simulation;
+        this.view = simulation.getView();
+        this.clock = simulation.getClock();
+        this.random = random;
+        this.checkpointRandomState = random.getState();
         this.totalServiceTime = 0;
         this.breakRequested = false;
         this.changeRequested = false;
         this.afterBreak = false;
     }
 
+    // Odtworzenie kasjera z punktu kontrolnego
+    public Cashier(State state, CashRegistersMonitor monitor, int minUseTime, int maxUseTime, SupermarketSimulation simulation) {
+        this(state.cashierId(), state.registerId(), monitor, minUseTime, maxUseTime, simulation,
+                new SimulationRandom(state.randomState()));
+        this.totalServiceTime = state.totalServiceTime();
+        this.breakRequested = state.breakRequested();
+        this.changeRequested = state.changeRequested();
+        this.afterBreak = state.afterBreak();
+    }
+
     @Override
     public void run() {
         try {
-            simulationTime = controller.getSimulationTimeMillis();
+            simulationTime = simulation.getSimulationTimeMillis();
             while (!Thread.currentThread().isInterrupted()) {
                 handleOperations();
                 Integer clientId = monitor.getClientFromQueue(registerId);
                 if (clientId == null) {
                     handleOperations();
-                    if (!monitor.hasMoreClients() && monitor.isQueueEmpty(registerId)) {
+                    if (monitor.finishWork(registerId)) {
                         endCashierWork();
                         break;
                     }
+                    clock.idle();
                 } else {
                     serveClient(clientId);
                 }
@@ -60,7 +86,7 @@ public class Cashier implements Runnable {
             while ((clientId = monitor.getClientFromQueue(registerId)) != null) {
                 serveClient(clientId);
                 if (!monitor.hasMoreClients()) {
-                    controller.updateCashRegisterColor(registerId, Color.LIGHTGRAY);
+                    view.updateCashRegisterState(registerId, RegisterState.NO_MORE_CLIENTS);
                 }
             }
             if (monitor.hasMoreClients()) {
@@ -72,54 +98,61 @@ public class Cashier implements Runnable {
             }
         } else {
             if (!monitor.hasMoreClients()) {
-                controller.updateCashRegisterColor(registerId, Color.LIGHTGRAY);
+                view.updateCashRegisterState(registerId, RegisterState.NO_MORE_CLIENTS);
             }
         }
     }
 
     // Obsługa klienta
     private void serveClient(Integer clientId) throws InterruptedException {
-        Thread.sleep(simulationTime);
-        monitor.startServing(clientId, registerId);
-        long serviceTime = ThreadLocalRandom.current().nextInt(minUseTime, maxUseTime + 1);
-        Thread.sleep(serviceTime);
-        totalServiceTime += serviceTime;
-        monitor.finishServing(registerId, clientId);
+        clock.sleep(simulationTime);
+        monitor.startServing(clientId, registerId, cashierId);
+        long serviceTime = random.nextInt(minUseTime, maxUseTime + 1);
+        clock.sleep(serviceTime);
+        monitor.finishServing(registerId, clientId, cashierId, () -> {
+            totalServiceTime += serviceTime;
+            checkpointRandomState = random.getState();
+        });
     }
 
     // Przerwa
     private void takeBreak() throws InterruptedException {
         monitor.goOnBreak(registerId);
-        Thread.sleep(simulationTime);
-        System.out.printf("Kasjer %d przy kasie %d zakończył przerwę i wraca do pracy.\n", cashierId, registerId);
-        monitor.openRegister(registerId);
-        afterBreak = true;
-        totalServiceTime = 0;
+        clock.sleep(simulationTime);
+        view.log("Kasjer %d przy kasie %d zakończył przerwę i wraca do pracy.\n", cashierId, registerId);
+        monitor.openRegister(registerId, () -> {
+            afterBreak = true;
+            totalServiceTime = 0;
+        });
     }
 
     // Zmiana
     private void changeCashier() throws InterruptedException {
         monitor.changeCashier(registerId);
-        Thread.sleep(1000);
-        controller.replaceCashier(registerId);
+        clock.sleep(1000);
+        simulation.replaceCashier(registerId);
     }
 
     // Prośba o przerwę/zmianę
     private void askForOperation() {
         if (totalServiceTime >= 6000 && !breakRequested && monitor.hasMoreClients()) {
-            breakRequested = true;
-            monitor.requestBreak(registerId);
+            monitor.requestBreak(registerId, () -> breakRequested = true);
         } else if (totalServiceTime >= 6000 && !changeRequested && monitor.hasMoreClients() && afterBreak) {
-            changeRequested = true;
-            monitor.requestChange(registerId);
+            monitor.requestChange(registerId, () -> changeRequested = true);
         }
     }
 
     // Koniec pracy
     private void endCashierWork() throws InterruptedException {
-        Thread.sleep(1000);
-        System.out.printf("Kasjer %d przy kasie %d zatrzymuje się, ponieważ wszyscy klienci zostali obsłużeni.\n", cashierId, registerId);
-        controller.updateCashRegisterColor(registerId, Color.DIMGRAY);
+        clock.sleep(1000);
+        view.log("Kasjer %d przy kasie %d zatrzymuje się, ponieważ wszyscy klienci zostali obsłużeni.\n", cashierId, registerId);
+        view.updateCashRegisterState(registerId, RegisterState.FINISHED);
+    }
+
+    // Zrzut stanu kasjera
+    public State captureState() {
+        return new State(cashierId, registerId, totalServiceTime, breakRequested, changeRequested, afterBreak,
+                checkpointRandomState);
     }
 
     public int getRegisterId() {
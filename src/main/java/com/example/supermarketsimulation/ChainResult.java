@@ -0,0 +1,81 @@
+package com.example.supermarketsimulation;
+
+import java.util.List;
+
+// Wyniki symulacji sieci sklepów
+public class ChainResult {
+    private final int stores;
+    private final int workers;
+    private final SimulationMetrics chainMetrics; // Wyniki całej sieci
+    private final List<SimulationMetrics> storeMetrics; // Wyniki poszczególnych sklepów
+    private final int transfers; // Klienci, którzy przeszli do sąsiedniego sklepu
+    private final int receivedTransfers; // Klienci przyjęci od sąsiednich sklepów (tyle samo co transfers)
+    private final int leftClients; // Klienci, którzy zrezygnowali lub odeszli z kolejki
+    private final int stalledStores; // Sklepy, w których symulacja utknęła
+    private final long wallNanos;
+
+    public ChainResult(int stores, int workers, SimulationMetrics chainMetrics, List<SimulationMetrics> storeMetrics,
+                       int transfers, int receivedTransfers, int leftClients, int stalledStores, long wallNanos) {
+        this.stores = stores;
+        this.workers = workers;
+        this.chainMetrics = chainMetrics;
+        this.storeMetrics = List.copyOf(storeMetrics);
+        this.transfers = transfers;
+        this.receivedTransfers = receivedTransfers;
+        this.leftClients = leftClients;
+        this.stalledStores = stalledStores;
+        this.wallNanos = wallNanos;
+    }
+
+    // Obsłużeni klienci na sekundę czasu rzeczywistego
+    public double getClientsPerSecond() {
+        return wallNanos == 0 ? 0 : chainMetrics.getClients() * 1e9 / wallNanos;
+    }
+
+    public String summary() {
+        return String.format("Sklepy: %d, wątki: %d, czas: %.2f s%n", stores, workers, wallNanos / 1e9)
+                + String.format("Obsłużeni klienci: %d (%.0f/s), przejścia do sąsiednich sklepów: %d%n",
+                chainMetrics.getClients(), getClientsPerSecond(), transfers)
+                + String.format("Oczekiwanie [ms]: średnio %.0f, p50 %d, p95 %d, maks. %d%n",
+                chainMetrics.getMeanWait(), chainMetrics.getWaitPercentile(50),
+                chainMetrics.getWaitPercentile(95), chainMetrics.getMaxWait())
+                + (leftClients > 0 ? String.format("Klienci, którzy odeszli bez zakupów: %d%n", leftClients) : "")
+                + (stalledStores > 0 ? String.format("Sklepy, w których symulacja utknęła: %d%n", stalledStores) : "");
+    }
+
+    public int getStores() {
+        return stores;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    public SimulationMetrics getChainMetrics() {
+        return chainMetrics;
+    }
+
+    public List<SimulationMetrics> getStoreMetrics() {
+        return storeMetrics;
+    }
+
+    public int getTransfers() {
+        return transfers;
+    }
+
+    public int getReceivedTransfers() {
+        return receivedTransfers;
+    }
+
+    public int getLeftClients() {
+        return leftClients;
+    }
+
+    public int getStalledStores() {
+        return stalledStores;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.supermarketsimulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Symulacja sieci sklepów: sklepy są podzielone między stałą liczbę wątków sterujących (shardów).
+// Każdy sklep ma własny monitor, kasjerów i zegar wirtualny. Kod sklepu (kasjerzy, klienci) wykonują wątki
+// wirtualne zegara na wspólnej puli wątków nośnych JDK; wątek sterujący tylko przekazuje im sterowanie
+// semaforami VirtualClock i czeka, więc w shardzie działa naraz najwyżej jeden wątek sklepu, a liczba shardów
+// ogranicza równoległość. Sklepy z różnych shardów nie mają wspólnych zamków. Przy przekazywaniu klientów
+// sąsiadom shardy przechodzą przez kolejne kwanty czasu symulacji razem, żeby zegary sklepów nie rozjechały się.
+// Z ziarnem wyniki każdego sklepu są powtarzalne, o ile klienci nie przechodzą między sklepami
+// (moment odebrania komunikatu od sąsiada zależy od szybkości shardów).
+public class ChainSimulation {
+    private static final long DEFAULT_QUANTUM_MILLIS = 1000;
+
+    private final int stores;
+    private final SimulationParameters parameters;
+    private final int workers;
+    private final int overflowThreshold; // 0 - klienci nie przechodzą do innych sklepów
+    private final long quantumMillis;
+
+    public ChainSimulation(int stores, SimulationParameters parameters, int workers, int overflowThreshold) {
+        this(stores, parameters, workers, overflowThreshold, DEFAULT_QUANTUM_MILLIS);
+    }
+
+    public ChainSimulation(int stores, SimulationParameters parameters, int workers, int overflowThreshold,
+                           long quantumMillis) {
+        if (stores < 1 || workers < 1 || quantumMillis < 1) {
+            throw new IllegalArgumentException("Liczba sklepów, wątków i kwant czasu muszą być dodatnie");
+        }
+        this.stores = stores;
+        this.parameters = parameters;
+        this.workers = workers;
+        this.overflowThreshold = overflowThreshold;
+        this.quantumMillis = quantumMillis;
+    }
+
+    // Jeden sklep sieci
+    private static final class Store {
+        private final VirtualClock clock = new VirtualClock();
+        private final SimulationMetrics metrics = new SimulationMetrics();
+        private final SupermarketSimulation simulation;
+        private final StoreExchange exchange;
+
+        private Store(int index, SimulationParameters parameters, int overflowThreshold) {
+            simulation = new SupermarketSimulation(parameters, SimulationView.SILENT, clock);
+            simulation.addListener(new ClientRecordCollector(List.of(metrics)));
+            if (overflowThreshold > 0) {
+                exchange = new StoreExchange(index, overflowThreshold);
+                simulation.setClientExchange(exchange);
+            } else {
+                exchange = null;
+            }
+        }
+    }
+
+    public ChainResult run() throws InterruptedException {
+        long startNanos = System.nanoTime();
+        List<Store> all = new ArrayList<>(stores);
+        for (int i = 0; i < stores; i++) {
+            // W trybie powtarzalnym każdy sklep ma własne ziarno wyprowadzone z ziarna sieci
+            SimulationParameters storeParameters = parameters.isSeeded()
+                    ? parameters.withSeed(SimulationRandom.mix(parameters.getSeed() + i))
+                    : parameters;
+            all.add(new Store(i, storeParameters, overflowThreshold));
+        }
+        boolean overflow = overflowThreshold > 0 && stores > 1;
+        if (overflow) {
+            // Sąsiedzi w pierścieniu
+            for (int i = 0; i < stores; i++) {
+                StoreExchange previous = all.get((i + stores - 1) % stores).exchange;
+                StoreExchange next = all.get((i + 1) % stores).exchange;
+                all.get(i).exchange.setNeighbors(previous == next ? List.of(next) : List.of(previous, next));
+            }
+        }
+
+        int shardCount = Math.min(workers, stores);
+        Phaser phaser = overflow ? new Phaser(shardCount) : null;
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(shardCount,
+                runnable -> new Thread(runnable, "store-shard-" + threadNumber.incrementAndGet()));
+        try {
+            List<Future<?>> shards = new ArrayList<>(shardCount);
+            for (int w = 0; w < shardCount; w++) {
+                List<Store> shard = new ArrayList<>();
+                for (int i = w; i < stores; i += shardCount) {
+                    shard.add(all.get(i));
+                }
+                shards.add(pool.submit(() -> runShard(shard, phaser)));
+            }
+            for (Future<?> shard : shards) {
+                shard.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Błąd symulacji sklepu", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        SimulationMetrics chainMetrics = new SimulationMetrics();
+        List<SimulationMetrics> storeMetrics = new ArrayList<>(stores);
+        int transfers = 0;
+        int receivedTransfers = 0;
+        int leftClients = 0;
+        int stalledStores = 0;
+        for (Store store : all) {
+            chainMetrics.merge(store.metrics);
+            storeMetrics.add(store.metrics);
+            if (store.exchange != null) {
+                transfers += store.exchange.getTransfersOut();
+                receivedTransfers += store.exchange.getTransfersIn();
+            }
+            CashRegistersMonitor monitor = store.simulation.getMonitor();
+            leftClients += monitor.getBalkedClients() + monitor.getRenegedClients();
+            if (store.clock.isStalled()) {
+                stalledStores++;
+            }
+        }
+        return new ChainResult(stores, shardCount, chainMetrics, storeMetrics, transfers, receivedTransfers,
+                leftClients, stalledStores, System.nanoTime() - startNanos);
+    }
+
+    private void runShard(List<Store> shard, Phaser phaser) {
+        if (phaser == null) {
+            // Bez wymiany klientów sklepy są niezależne - po kolei do końca
+            for (Store store : shard) {
+                store.simulation.start();
+                store.clock.run();
+            }
+            return;
+        }
+        try {
+            for (Store store : shard) {
+                store.simulation.start();
+            }
+            List<Store> active = new ArrayList<>(shard);
+            for (long horizon = quantumMillis; !active.isEmpty(); horizon += quantumMillis) {
+                long currentHorizon = horizon;
+                active.removeIf(store -> !store.clock.runUntil(currentHorizon));
+                phaser.arriveAndAwaitAdvance();
+            }
+        } finally {
+            phaser.arriveAndDeregister();
+        }
+    }
+
+    // Uruchomienie: ChainSimulation <liczba sklepów> [liczba wątków] [próg przejścia do sąsiada]
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length < 1) {
+            System.err.println("Użycie: ChainSimulation <sklepy> [wątki] [próg przejścia do sąsiada]");
+            System.exit(2);
+        }
+        int stores = Integer.parseInt(args[0]);
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int overflowThreshold = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        ChainResult result = new ChainSimulation(stores, SimulationParameters.defaults(100, 4), workers,
+                overflowThreshold).run();
+        System.out.print(result.summary());
+    }
+}
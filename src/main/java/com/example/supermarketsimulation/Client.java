@@ -11,6 +11,9 @@ public class Client implements Runnable {
 
     @Override
     public void run() {
-        monitor.enterQueue(id); // Ustawienie się w kolejce
+        // Ustawienie się w najkrótszej kolejce albo rezygnacja, gdy jest za długa; dalsze decyzje czekającego klienta
+        // (zmiana kolejki, odejście po utracie cierpliwości) podejmuje monitor przy zdarzeniach zmieniających kolejki,
+        // więc wątek klienta nie czeka w kolejce
+        monitor.enterQueue(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.example.supermarketsimulation;
+
+// Zachowanie klientów wobec kolejek (0 - zachowanie wyłączone):
+// balkQueueLength - klient rezygnuje z zakupów, gdy najkrótsza otwarta kolejka ma co najmniej tyle osób;
+// patienceMillis - klient opuszcza kolejkę, jeśli jego obsługa nie zaczęła się w tym czasie od wejścia do kolejki;
+// jockeyThreshold - ostatni klient najdłuższej kolejki przechodzi do najkrótszej otwartej, jeśli miałby przed sobą
+// co najmniej o tyle osób mniej.
+public record ClientBehavior(int balkQueueLength, long patienceMillis, int jockeyThreshold) {
+    public static final ClientBehavior NONE = new ClientBehavior(0, 0, 0);
+
+    public ClientBehavior {
+        if (balkQueueLength < 0 || patienceMillis < 0 || jockeyThreshold < 0) {
+            throw new IllegalArgumentException("Parametry zachowania klientów nie mogą być ujemne");
+        }
+    }
+
+    public boolean isBalking() {
+        return balkQueueLength > 0;
+    }
+
+    public boolean isReneging() {
+        return patienceMillis > 0;
+    }
+
+    public boolean isJockeying() {
+        return jockeyThreshold > 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.supermarketsimulation;
+
+// Przekazywanie klientów między sklepami (wywoływane tylko z wątku tworzenia klientów danego sklepu)
+public interface ClientExchange {
+    // Ogłoszenie obciążenia sklepu (długość najkrótszej kolejki)
+    void publishLoad(int shortestQueueLength);
+
+    // Próba wysłania przychodzącego klienta do innego sklepu; true - klient poszedł gdzie indziej
+    boolean tryTransferOut(int shortestQueueLength);
+
+    // Liczba klientów otrzymanych od ostatniego wywołania
+    int drainIncoming();
+
+    // Zamknięcie przyjmowania klientów; false - w międzyczasie ktoś jeszcze przysłał klienta
+    boolean tryClose();
+}
@@ -0,0 +1,8 @@
+package com.example.supermarketsimulation;
+
+// Przebieg wizyty jednego klienta (czasy w ms od początku symulacji, -1 gdy nieznane).
+// registerId i queueLengthAtArrival dotyczą kolejki, w której klient został obsłużony: po przejściu
+// do innej kolejki - liczba osób przed nim w nowej kolejce w chwili przejścia
+public record ClientRecord(int clientId, long arrivalTime, int registerId, int queueLengthAtArrival,
+                           long serviceStart, long serviceEnd, int cashierId) {
+}
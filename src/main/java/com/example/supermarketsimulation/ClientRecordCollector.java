@@ -0,0 +1,94 @@
+package com.example.supermarketsimulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Składanie rekordów klientów ze zdarzeń monitora i przekazywanie ich do zapisu.
+// W pamięci są tylko klienci, których obsługa jeszcze się nie skończyła. Zdarzenia przychodzą pod zamkami
+// monitora, więc zapis do plików powinien iść przez AsyncClientRecordWriter.
+public class ClientRecordCollector implements SimulationListener, Closeable {
+    private final List<ClientRecordWriter> writers;
+    private final Map<Integer, Visit> visits = new HashMap<>(); // Klienci w trakcie wizyty
+    private IOException error; // Zgłaszany przy zamknięciu, po nim write nic nie przekazuje
+
+    // Dane klienta zebrane przed końcem obsługi
+    private static class Visit {
+        private long arrivalTime = -1;
+        private int queueLength = -1; // Liczba osób przed klientem w kolejce, w której czeka
+        private long serviceStart = -1;
+    }
+
+    public ClientRecordCollector(List<ClientRecordWriter> writers) {
+        this.writers = List.copyOf(writers);
+    }
+
+    @Override
+    public synchronized void clientEntered(long time, int clientId, int registerId, int queueLength) {
+        Visit visit = visits.computeIfAbsent(clientId, id -> new Visit());
+        visit.arrivalTime = time;
+        visit.queueLength = queueLength;
+    }
+
+    // Rekord opisuje kolejkę, w której klient został obsłużony
+    @Override
+    public synchronized void clientJockeyed(long time, int clientId, int fromRegisterId, int toRegisterId,
+                                            int queueLength) {
+        visits.computeIfAbsent(clientId, id -> new Visit()).queueLength = queueLength;
+    }
+
+    @Override
+    public synchronized void serviceStarted(long time, int clientId, int registerId, int cashierId) {
+        visits.computeIfAbsent(clientId, id -> new Visit()).serviceStart = time;
+    }
+
+    @Override
+    public synchronized void serviceFinished(long time, int clientId, int registerId, int cashierId) {
+        // Klient mógł stać w kolejce już przed wznowieniem z punktu kontrolnego - wtedy część pól jest nieznana
+        Visit visit = visits.remove(clientId);
+        if (visit == null) {
+            visit = new Visit();
+        }
+        write(new ClientRecord(clientId, visit.arrivalTime, registerId, visit.queueLength, visit.serviceStart,
+                time, cashierId));
+    }
+
+    // Klient odszedł bez obsługi - rekordy dotyczą tylko obsłużonych klientów
+    @Override
+    public synchronized void clientReneged(long time, int clientId, int registerId) {
+        visits.remove(clientId);
+    }
+
+    private void write(ClientRecord record) {
+        if (error != null) {
+            return;
+        }
+        try {
+            for (ClientRecordWriter writer : writers) {
+                writer.write(record);
+            }
+        } catch (IOException e) {
+            error = e;
+            System.err.println("Błąd zapisu rekordów klientów: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        IOException closeError = error;
+        for (ClientRecordWriter writer : writers) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                if (closeError == null) {
+                    closeError = e;
+                }
+            }
+        }
+        if (closeError != null) {
+            throw closeError;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.supermarketsimulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Zapis rekordów klientów
+public interface ClientRecordWriter extends Closeable {
+    void write(ClientRecord record) throws IOException;
+}
@@ -0,0 +1,7 @@
+package com.example.supermarketsimulation;
+
+// Stan klienta pokazywany przez widok (GUI zamienia go na kolor kółka klienta)
+public enum ClientState {
+    IN_SERVICE, // Obsługiwany przy kasie
+    SERVED // Obsłużony
+}
@@ -0,0 +1,213 @@
+package com.example.supermarketsimulation;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+// Zapis rekordów klientów w zwartym formacie kolumnowym.
+// Plik: [MAGIC][wersja], potem bloki: [liczba wierszy] i dla każdej z 7 kolumn [długość w bajtach][wartości].
+// Wartości są kodowane jako zigzag varint; czasy jako różnice (przyjście względem poprzedniego wiersza,
+// początek obsługi względem przyjścia, koniec względem początku), co daje 1-3 bajty na wartość.
+public class ColumnarClientRecordWriter implements ClientRecordWriter {
+    private static final int MAGIC = 0x534D4352; // "SMCR"
+    private static final int FORMAT_VERSION = 1;
+    private static final int COLUMNS = 7;
+    private static final int MAX_VARLONG_BYTES = 10;
+    public static final int DEFAULT_BLOCK_ROWS = 4096;
+
+    private final FileChannel channel;
+    private final int blockRows;
+    private final ByteBuffer buffer;
+    // Kolumny bieżącego bloku
+    private final int[] clientIds;
+    private final long[] arrivalTimes;
+    private final int[] registerIds;
+    private final int[] queueLengths;
+    private final long[] serviceStarts;
+    private final long[] serviceEnds;
+    private final int[] cashierIds;
+    private int rows;
+
+    public ColumnarClientRecordWriter(Path file) throws IOException {
+        this(file, DEFAULT_BLOCK_ROWS);
+    }
+
+    public ColumnarClientRecordWriter(Path file, int blockRows) throws IOException {
+        this.blockRows = blockRows;
+        clientIds = new int[blockRows];
+        arrivalTimes = new long[blockRows];
+        registerIds = new int[blockRows];
+        queueLengths = new int[blockRows];
+        serviceStarts = new long[blockRows];
+        serviceEnds = new long[blockRows];
+        cashierIds = new int[blockRows];
+        buffer = ByteBuffer.allocateDirect(Integer.BYTES + COLUMNS * (Integer.BYTES + blockRows * MAX_VARLONG_BYTES));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIC).putInt(FORMAT_VERSION);
+        drain();
+    }
+
+    @Override
+    public synchronized void write(ClientRecord record) throws IOException {
+        clientIds[rows] = record.clientId();
+        arrivalTimes[rows] = record.arrivalTime();
+        registerIds[rows] = record.registerId();
+        queueLengths[rows] = record.queueLengthAtArrival();
+        serviceStarts[rows] = record.serviceStart();
+        serviceEnds[rows] = record.serviceEnd();
+        cashierIds[rows] = record.cashierId();
+        if (++rows == blockRows) {
+            flushBlock();
+        }
+    }
+
+    private void flushBlock() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        buffer.putInt(rows);
+        int column = beginColumn();
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            putZigzag(clientIds[i] - previous);
+            previous = clientIds[i];
+        }
+        endColumn(column);
+        column = beginColumn();
+        previous = 0;
+        for (int i = 0; i < rows; i++) {
+            putZigzag(arrivalTimes[i] - previous);
+            previous = arrivalTimes[i];
+        }
+        endColumn(column);
+        column = beginColumn();
+        for (int i = 0; i < rows; i++) {
+            putZigzag(registerIds[i]);
+        }
+        endColumn(column);
+        column = beginColumn();
+        for (int i = 0; i < rows; i++) {
+            putZigzag(queueLengths[i]);
+        }
+        endColumn(column);
+        column = beginColumn();
+        for (int i = 0; i < rows; i++) {
+            putZigzag(serviceStarts[i] - arrivalTimes[i]);
+        }
+        endColumn(column);
+        column = beginColumn();
+        for (int i = 0; i < rows; i++) {
+            putZigzag(serviceEnds[i] - serviceStarts[i]);
+        }
+        endColumn(column);
+        column = beginColumn();
+        for (int i = 0; i < rows; i++) {
+            putZigzag(cashierIds[i]);
+        }
+        endColumn(column);
+        rows = 0;
+        drain();
+    }
+
+    // Miejsce na długość kolumny uzupełniane po jej zapisaniu
+    private int beginColumn() {
+        int position = buffer.position();
+        buffer.putInt(0);
+        return position;
+    }
+
+    private void endColumn(int lengthPosition) {
+        buffer.putInt(lengthPosition, buffer.position() - lengthPosition - Integer.BYTES);
+    }
+
+    private void putZigzag(long value) {
+        long encoded = (value << 1) ^ (value >> 63);
+        while ((encoded & ~0x7FL) != 0) {
+            buffer.put((byte) ((encoded & 0x7F) | 0x80));
+            encoded >>>= 7;
+        }
+        buffer.put((byte) encoded);
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flushBlock();
+        } finally {
+            channel.close();
+        }
+    }
+
+    // Odczyt pliku kolumnowego rekord po rekordzie
+    public static void read(Path file, Consumer<ClientRecord> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Plik nie zawiera rekordów klientów: " + file);
+            }
+            int version = in.readInt();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Nieobsługiwana wersja pliku rekordów: " + version);
+            }
+            while (true) {
+                int rowCount;
+                try {
+                    rowCount = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                long[][] columns = new long[COLUMNS][];
+                for (int c = 0; c < COLUMNS; c++) {
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    columns[c] = decodeColumn(bytes, rowCount);
+                }
+                long clientId = 0;
+                long arrivalTime = 0;
+                for (int i = 0; i < rowCount; i++) {
+                    clientId += columns[0][i];
+                    arrivalTime += columns[1][i];
+                    long serviceStart = arrivalTime + columns[4][i];
+                    long serviceEnd = serviceStart + columns[5][i];
+                    consumer.accept(new ClientRecord((int) clientId, arrivalTime, (int) columns[2][i],
+                            (int) columns[3][i], serviceStart, serviceEnd, (int) columns[6][i]));
+                }
+            }
+        }
+    }
+
+    private static long[] decodeColumn(byte[] bytes, int rowCount) throws IOException {
+        long[] values = new long[rowCount];
+        int position = 0;
+        for (int i = 0; i < rowCount; i++) {
+            long encoded = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (position == bytes.length || shift > 63) {
+                    throw new IOException("Uszkodzona kolumna w pliku rekordów");
+                }
+                b = bytes[position++];
+                encoded |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            values[i] = (encoded >>> 1) ^ -(encoded & 1);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.supermarketsimulation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Zapis rekordów klientów do pliku CSV przez bufor o stałym rozmiarze
+public class CsvClientRecordWriter implements ClientRecordWriter {
+    private static final String HEADER = "client_id,arrival_time,register_id,queue_length_at_arrival,service_start,service_end,cashier_id\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_ROW_BYTES = 7 * 21; // 7 kolumn, najdłuższa liczba long + separator
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final byte[] digits = new byte[20];
+
+    public CsvClientRecordWriter(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.put(HEADER.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Override
+    public synchronized void write(ClientRecord record) throws IOException {
+        if (buffer.remaining() < MAX_ROW_BYTES) {
+            flush();
+        }
+        putNumber(record.clientId());
+        buffer.put((byte) ',');
+        putNumber(record.arrivalTime());
+        buffer.put((byte) ',');
+        putNumber(record.registerId());
+        buffer.put((byte) ',');
+        putNumber(record.queueLengthAtArrival());
+        buffer.put((byte) ',');
+        putNumber(record.serviceStart());
+        buffer.put((byte) ',');
+        putNumber(record.serviceEnd());
+        buffer.put((byte) ',');
+        putNumber(record.cashierId());
+        buffer.put((byte) '\n');
+    }
+
+    // Liczba zapisywana bez tworzenia obiektów String
+    private void putNumber(long value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+            if (value == Long.MIN_VALUE) {
+                buffer.put("9223372036854775808".getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            value = -value;
+        }
+        int length = 0;
+        do {
+            digits[length++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        while (length > 0) {
+            buffer.put(digits[--length]);
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.supermarketsimulation;
+
+// Skrót całego przebiegu symulacji: dwa przebiegi z tymi samymi zdarzeniami w tej samej kolejności
+// mają ten sam skrót (do porównywania przebiegów w trybie powtarzalnym)
+public class EventDigest implements SimulationListener {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private long digest = FNV_OFFSET;
+    private long events;
+
+    private synchronized void record(int type, long time, int first, int second, int third) {
+        digest = (digest ^ type) * FNV_PRIME;
+        digest = (digest ^ time) * FNV_PRIME;
+        digest = (digest ^ first) * FNV_PRIME;
+        digest = (digest ^ second) * FNV_PRIME;
+        digest = (digest ^ third) * FNV_PRIME;
+        events++;
+    }
+
+    @Override
+    public void clientEntered(long time, int clientId, int registerId, int queueLength) {
+        record(1, time, clientId, registerId, queueLength);
+    }
+
+    @Override
+    public void serviceStarted(long time, int clientId, int registerId, int cashierId) {
+        record(2, time, clientId, registerId, cashierId);
+    }
+
+    @Override
+    public void serviceFinished(long time, int clientId, int registerId, int cashierId) {
+        record(3, time, clientId, registerId, cashierId);
+    }
+
+    @Override
+    public void breakRequested(long time, int registerId) {
+        record(4, time, registerId, 0, 0);
+    }
+
+    @Override
+    public void changeRequested(long time, int registerId) {
+        record(5, time, registerId, 0, 0);
+    }
+
+    @Override
+    public void registerClosed(long time, int registerId) {
+        record(6, time, registerId, 0, 0);
+    }
+
+    @Override
+    public void registerOpened(long time, int registerId) {
+        record(7, time, registerId, 0, 0);
+    }
+
+    @Override
+    public void breakStarted(long time, int registerId) {
+        record(8, time, registerId, 0, 0);
+    }
+
+    @Override
+    public void cashierChangeStarted(long time, int registerId) {
+        record(9, time, registerId, 0, 0);
+    }
+
+    @Override
+    public void clientBalked(long time, int clientId, int queueLength) {
+        record(10, time, clientId, queueLength, 0);
+    }
+
+    @Override
+    public void clientReneged(long time, int clientId, int registerId) {
+        record(11, time, clientId, registerId, 0);
+    }
+
+    @Override
+    public void clientJockeyed(long time, int clientId, int fromRegisterId, int toRegisterId, int queueLength) {
+        record(12, time, clientId, fromRegisterId, toRegisterId);
+    }
+
+    public synchronized long getDigest() {
+        return digest;
+    }
+
+    public synchronized long getEvents() {
+        return events;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%016x (%d zdarzeń)", digest, events);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.supermarketsimulation;
+
+// Klasa główna programu: z argumentami - tryb wsadowy (SimulationCli), bez argumentów - GUI (Main).
+// Nie dziedziczy po Application, więc launcher Javy nie uruchamia toolkitu JavaFX przed main
+// i tryb wsadowy działa na serwerze bez ekranu.
+public class Launcher {
+    private Launcher() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(SimulationCli.run(args));
+        }
+        Main.main(args);
+    }
+}
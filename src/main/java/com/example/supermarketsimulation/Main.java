@@ -2,6 +2,7 @@ package com.example.supermarketsimulation;
 
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 import java.io.IOException;
@@ -15,8 +16,10 @@ public class Main extends Application {
     public void start(Stage stage) throws IOException {
         primaryStage = stage;
         FXMLLoader fxmlLoader = new FXMLLoader(Main.class.getResource("supermarket_layout.fxml"));
-        Scene scene = new Scene(fxmlLoader.load(), 300, 250);
+        Parent root = fxmlLoader.load();
         controller = fxmlLoader.getController();
+        StartupTiming.mark("Wczytano FXML");
+        Scene scene = new Scene(root, 300, 250);
         primaryStage.setTitle("Supermarket Simulation");
         primaryStage.setScene(scene);
         // Zamykanie okna
@@ -24,13 +27,17 @@ public class Main extends Application {
             controller.stopSimulation();
         });
         primaryStage.show();
+        StartupTiming.mark("Okno wyświetlone");
     }
 
     public static Stage getPrimaryStage() {
         return primaryStage;
     }
 
+    // Start GUI (tryb wsadowy uruchamia Launcher, który nie dziedziczy po Application)
     public static void main(String[] args) {
+        StartupTiming.mark("Start programu");
+        SimulationBootstrap.prewarmInBackground(); // Równolegle ze startem JavaFX
         launch();
     }
-}
\ No newline at end of file
+}
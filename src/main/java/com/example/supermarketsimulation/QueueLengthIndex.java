@@ -0,0 +1,81 @@
+package com.example.supermarketsimulation;
+
+import java.util.Arrays;
+
+// Liczniki długości kolejek z drzewem turniejowym: najkrótsza otwarta kasa i najdłuższa kolejka (także zamkniętej
+// kasy) są w korzeniu, a zmiana długości lub otwarcia kasy poprawia tylko ścieżkę do korzenia (O(log n)).
+// Przy równych długościach wygrywa kasa o niższym numerze. Nie jest bezpieczna wątkowo (używana pod zamkiem monitora).
+public class QueueLengthIndex {
+    private final int leaves; // Liczba liści (potęga dwójki)
+    private final int[] lengths;
+    private final boolean[] open;
+    private final int[] shortest; // Węzeł drzewa -> indeks najkrótszej otwartej kolejki w poddrzewie (-1 - brak)
+    private final int[] longest; // Węzeł drzewa -> indeks najdłuższej kolejki w poddrzewie (-1 - brak)
+
+    public QueueLengthIndex(int registers) {
+        int size = 1;
+        while (size < registers) {
+            size <<= 1;
+        }
+        leaves = size;
+        lengths = new int[registers];
+        open = new boolean[registers];
+        shortest = new int[2 * size];
+        longest = new int[2 * size];
+        Arrays.fill(shortest, -1);
+        Arrays.fill(longest, -1);
+        for (int i = 0; i < registers; i++) {
+            open[i] = true;
+            update(i);
+        }
+    }
+
+    public int length(int index) {
+        return lengths[index];
+    }
+
+    public void add(int index, int delta) {
+        lengths[index] += delta;
+        update(index);
+    }
+
+    public void setOpen(int index, boolean isOpen) {
+        open[index] = isOpen;
+        update(index);
+    }
+
+    // Indeks najkrótszej otwartej kolejki (-1 - wszystkie kasy zamknięte)
+    public int shortestOpen() {
+        return shortest[1];
+    }
+
+    // Indeks najdłuższej kolejki
+    public int longest() {
+        return longest[1];
+    }
+
+    private void update(int index) {
+        int node = leaves + index;
+        shortest[node] = open[index] ? index : -1;
+        longest[node] = index;
+        for (node >>= 1; node > 0; node >>= 1) {
+            shortest[node] = shorter(shortest[2 * node], shortest[2 * node + 1]);
+            longest[node] = longer(longest[2 * node], longest[2 * node + 1]);
+        }
+    }
+
+    // Lewe poddrzewo zawiera niższe numery kas, więc przy remisie wygrywa pierwszy argument
+    private int shorter(int left, int right) {
+        if (left < 0 || right < 0) {
+            return left < 0 ? right : left;
+        }
+        return lengths[right] < lengths[left] ? right : left;
+    }
+
+    private int longer(int left, int right) {
+        if (left < 0 || right < 0) {
+            return left < 0 ? right : left;
+        }
+        return lengths[right] > lengths[left] ? right : left;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.supermarketsimulation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Historia kolejek w czasie symulacji: dla każdej kasy pierścienie przedziałów po SLOT_MILLIS z liczbą przyjść
+// i odejść z kolejki, maksymalną długością i całką długości po czasie (średnia długość). Pamięć jest stała
+// (MAX_WINDOW_SECONDS wstecz), a przedziały starsze niż okno są nadpisywane.
+// Zapis: pod zamkiem kolejki danej kasy (jeden piszący na kasę), O(1) - tylko po długiej przerwie w zdarzeniach
+// długość jest rozpisywana na pominięte przedziały, najwyżej jeden pełny pierścień.
+// Odczyt: bez zamków; wpis przedziału ma numer przedziału i wartość w jednym słowie, więc nieaktualne wpisy
+// (sprzed pełnego obrotu pierścienia) są pomijane. Wynik odczytu w trakcie zapisu może pominąć to jedno zdarzenie.
+public class QueueTelemetry {
+    public static final int SLOT_MILLIS = 100; // Rozdzielczość historii
+    public static final int MAX_WINDOW_SECONDS = 60;
+    public static final int[] REPORT_WINDOWS = {1, 10, 60}; // Okna raportów [s]
+    private static final int SLOTS = MAX_WINDOW_SECONDS * 1000 / SLOT_MILLIS + 1; // +1 - bieżący, niepełny przedział
+    private static final int VALUE_BITS = 32; // Wpis przedziału: (numer przedziału + 1) << 32 | wartość
+    private static final long VALUE_MASK = (1L << VALUE_BITS) - 1;
+    private static final int LENGTH_BITS = 24; // Stan kasy: czas ostatniej zmiany << 24 | długość kolejki
+    private static final long LENGTH_MASK = (1L << LENGTH_BITS) - 1;
+
+    // Statystyki kolejki jednej kasy w oknie czasu
+    public record Window(int registerId, int seconds, int length, int maxLength, double meanLength,
+                         double arrivalRate, double departureRate) {
+    }
+
+    private final int registers;
+    private final long startMillis; // Początek historii (okna nie sięgają wcześniej)
+    private final AtomicLongArray arrivals; // [kasa * SLOTS + przedział] - wejścia do kolejki (także przejścia z innej)
+    private final AtomicLongArray departures; // Odejścia z kolejki: obsłużeni, zniecierpliwieni, przejścia do innej
+    private final AtomicLongArray maxLengths;
+    private final AtomicLongArray lengthMillis; // Całka długości kolejki po czasie [klient * ms]
+    private final AtomicLongArray current; // Kasa -> czas ostatniej zmiany i długość kolejki od tej chwili
+
+    public QueueTelemetry(int registers, long startMillis) {
+        this.registers = registers;
+        this.startMillis = startMillis;
+        arrivals = new AtomicLongArray(registers * SLOTS);
+        departures = new AtomicLongArray(registers * SLOTS);
+        maxLengths = new AtomicLongArray(registers * SLOTS);
+        lengthMillis = new AtomicLongArray(registers * SLOTS);
+        current = new AtomicLongArray(registers);
+        for (int i = 0; i < registers; i++) {
+            current.set(i, startMillis << LENGTH_BITS);
+        }
+    }
+
+    public int getRegisters() {
+        return registers;
+    }
+
+    // Klient wszedł do kolejki (pod zamkiem kolejki); length - długość po wejściu
+    public void recordArrival(int index, long time, int length) {
+        time = recordLength(index, time, length);
+        add(arrivals, index, time / SLOT_MILLIS, 1);
+    }
+
+    // Klient opuścił kolejkę (pod zamkiem kolejki); length - długość po odejściu
+    public void recordDeparture(int index, long time, int length) {
+        time = recordLength(index, time, length);
+        add(departures, index, time / SLOT_MILLIS, 1);
+    }
+
+    // Zmiana długości bez przyjścia ani odejścia (np. kolejka odtworzona z punktu kontrolnego): rozpisanie
+    // dotychczasowej długości na przedziały od ostatniej zmiany i zapamiętanie nowej; wynik - czas zmiany
+    public long recordLength(int index, long time, int length) {
+        long state = current.get(index);
+        long lastTime = state >>> LENGTH_BITS;
+        long lastLength = state & LENGTH_MASK;
+        time = Math.max(time, lastTime);
+        long slot = time / SLOT_MILLIS;
+        if (lastLength > 0) {
+            for (long s = Math.max(lastTime / SLOT_MILLIS, slot - SLOTS + 1); s <= slot; s++) {
+                long from = Math.max(s * SLOT_MILLIS, lastTime);
+                long to = Math.min((s + 1) * SLOT_MILLIS, time);
+                add(lengthMillis, index, s, lastLength * (to - from));
+                raise(maxLengths, index, s, lastLength);
+            }
+        }
+        long newLength = Math.min(Math.max(length, 0), LENGTH_MASK);
+        raise(maxLengths, index, slot, newLength);
+        current.set(index, time << LENGTH_BITS | newLength);
+        return time;
+    }
+
+    private static void add(AtomicLongArray array, int index, long slot, long delta) {
+        int position = index * SLOTS + (int) (slot % SLOTS);
+        long value = valueIn(array.get(position), slot);
+        array.set(position, (slot + 1) << VALUE_BITS | Math.min(value + delta, VALUE_MASK));
+    }
+
+    private static void raise(AtomicLongArray array, int index, long slot, long value) {
+        int position = index * SLOTS + (int) (slot % SLOTS);
+        long previous = valueIn(array.get(position), slot);
+        if (value > previous || previous == 0) {
+            array.set(position, (slot + 1) << VALUE_BITS | Math.max(value, previous));
+        }
+    }
+
+    // Wartość wpisu, jeśli należy do danego przedziału (inaczej wpis jest z wcześniejszego obrotu pierścienia)
+    private static long valueIn(long entry, long slot) {
+        return entry >>> VALUE_BITS == slot + 1 ? entry & VALUE_MASK : 0;
+    }
+
+    // Statystyki kolejki z ostatnich seconds sekund przed chwilą now (z dokładnością do SLOT_MILLIS)
+    public Window window(int index, int seconds, long now) {
+        if (seconds < 1 || seconds > MAX_WINDOW_SECONDS) {
+            throw new IllegalArgumentException("Okno musi mieć od 1 do " + MAX_WINDOW_SECONDS + " s");
+        }
+        long state = current.get(index);
+        long lastTime = state >>> LENGTH_BITS;
+        int length = (int) (state & LENGTH_MASK);
+        now = Math.max(now, lastTime);
+        long lastSlot = now / SLOT_MILLIS;
+        long firstSlot = lastSlot - seconds * 1000L / SLOT_MILLIS;
+        long from = Math.max(firstSlot * SLOT_MILLIS, startMillis);
+
+        long arrivalCount = 0;
+        long departureCount = 0;
+        long maxLength = length;
+        long integral = length * (now - Math.max(lastTime, from)); // Od ostatniej zmiany długość jest stała
+        for (long slot = Math.max(firstSlot, 0); slot <= lastSlot; slot++) {
+            int position = index * SLOTS + (int) (slot % SLOTS);
+            arrivalCount += valueIn(arrivals.get(position), slot);
+            departureCount += valueIn(departures.get(position), slot);
+            maxLength = Math.max(maxLength, valueIn(maxLengths.get(position), slot));
+            integral += valueIn(lengthMillis.get(position), slot);
+        }
+        long span = now - from;
+        if (span <= 0) {
+            return new Window(index + 1, seconds, length, length, length, 0, 0);
+        }
+        return new Window(index + 1, seconds, length, (int) maxLength, (double) integral / span,
+                arrivalCount * 1000.0 / span, departureCount * 1000.0 / span);
+    }
+
+    // Kasa z najdłuższą średnią kolejką w oknie (przy równych - o niższym numerze)
+    public Window hottest(int seconds, long now) {
+        Window hottest = null;
+        for (int i = 0; i < registers; i++) {
+            Window window = window(i, seconds, now);
+            if (hottest == null || window.meanLength() > hottest.meanLength()) {
+                hottest = window;
+            }
+        }
+        return hottest;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.supermarketsimulation;
+
+// Zegar czasu rzeczywistego (opcjonalnie przyspieszony)
+public class RealTimeClock implements SimulationClock {
+    private final long startNanos = System.nanoTime();
+    private final long offsetMillis; // Czas symulacji w chwili uruchomienia (np. po wznowieniu)
+    private final double speedup; // Ile milisekund symulacji mija w jednej milisekundzie rzeczywistej
+
+    public RealTimeClock(long offsetMillis) {
+        this(offsetMillis, 1);
+    }
+
+    public RealTimeClock(long offsetMillis, double speedup) {
+        if (speedup <= 0) {
+            throw new IllegalArgumentException("Przyspieszenie musi być dodatnie");
+        }
+        this.offsetMillis = offsetMillis;
+        this.speedup = speedup;
+    }
+
+    @Override
+    public long now() {
+        return offsetMillis + (long) ((System.nanoTime() - startNanos) * speedup / 1_000_000);
+    }
+
+    @Override
+    public void sleep(long millis) throws InterruptedException {
+        if (speedup == 1) {
+            Thread.sleep(millis);
+            return;
+        }
+        long nanos = (long) (millis * 1_000_000 / speedup);
+        Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+    }
+
+    @Override
+    public void idle() {
+        Thread.onSpinWait();
+    }
+
+    @Override
+    public Thread newThread(Runnable task) {
+        return new Thread(task);
+    }
+}
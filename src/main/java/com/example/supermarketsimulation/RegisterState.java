@@ -0,0 +1,13 @@
+package com.example.supermarketsimulation;
+
+// Stan kasy pokazywany przez widok (GUI zamienia go na kolor prostokąta kasy)
+public enum RegisterState {
+    OPEN, // Otwarta
+    CLOSING, // Zamknięta dla nowych klientów, kasjer obsługuje resztę kolejki
+    BREAK_REQUESTED, // Kasjer poprosił o przerwę
+    CHANGE_REQUESTED, // Kasjer poprosił o zmianę
+    ON_BREAK, // Kasjer na przerwie
+    CHANGING, // Zmiana kasjera
+    NO_MORE_CLIENTS, // Wszyscy klienci są już w kolejkach
+    FINISHED // Kasjer zakończył pracę
+}
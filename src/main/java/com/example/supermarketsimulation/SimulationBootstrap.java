@@ -0,0 +1,34 @@
+package com.example.supermarketsimulation;
+
+import java.io.IOException;
+
+// Rozgrzanie rdzenia symulacji w tle, równolegle ze startem JavaFX: wczytanie klas monitora, kasjerów, zegarów
+// i zapisu stanu oraz krótka symulacja w czasie wirtualnym, żeby pierwsza prawdziwa symulacja startowała szybciej
+public class SimulationBootstrap {
+    private static final SimulationParameters WARMUP_PARAMETERS = SimulationParameters.defaults(20, 2).withSeed(0);
+
+    private SimulationBootstrap() {
+    }
+
+    public static void prewarmInBackground() {
+        Thread thread = new Thread(SimulationBootstrap::prewarm, "simulation-bootstrap");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY); // Nie spowalnia wątku FX
+        thread.start();
+    }
+
+    private static void prewarm() {
+        try {
+            SupermarketSimulation simulation = new SupermarketSimulation(WARMUP_PARAMETERS, SimulationView.SILENT,
+                    new VirtualClock());
+            simulation.runToCompletion();
+            SimulationSnapshot.fromBytes(simulation.snapshot().toBytes());
+            StartupTiming.mark("Rdzeń symulacji rozgrzany");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            // Rozgrzewanie jest tylko optymalizacją - błąd nie wpływa na działanie programu
+            System.err.println("Nie udało się rozgrzać symulacji: " + e.getMessage());
+        }
+    }
+}
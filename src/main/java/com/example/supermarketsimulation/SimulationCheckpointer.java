@@ -0,0 +1,122 @@
+package com.example.supermarketsimulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// Zapisywanie punktów kontrolnych w tle.
+// Plik: nagłówek i ramka [długość][CRC32][zrzut] z ostatnim punktem kontrolnym. Każdy zapis trafia do pliku
+// tymczasowego, który po zapisaniu na dysk zastępuje poprzedni plik, więc rozmiar pliku nie rośnie z czasem,
+// a przerwany zapis zostawia poprzedni punkt kontrolny (także ten, z którego symulacja została wznowiona).
+public final class SimulationCheckpointer implements Closeable {
+    private static final int MAGIC = 0x534D434B; // "SMCK"
+    private static final int HEADER_SIZE = Integer.BYTES;
+    private static final int FRAME_HEADER_SIZE = Integer.BYTES * 2;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10; // Oczekiwanie na trwający zapis przy zamykaniu
+
+    private final SupermarketSimulation simulation;
+    private final Path file;
+    private final Path temporaryFile;
+    private final ScheduledExecutorService executor;
+    private byte[] lastState; // Ostatni zapisany stan bez czasu zrzutu (niezmienione stany są pomijane)
+
+    public SimulationCheckpointer(SupermarketSimulation simulation, Path file, long intervalMillis) throws IOException {
+        this.simulation = simulation;
+        this.file = file;
+        this.temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Pierwszy zapis od razu: do tego czasu w pliku jest punkt kontrolny poprzedniej symulacji
+        executor.scheduleWithFixedDelay(this::writeCheckpointQuietly, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Zapis jednego punktu kontrolnego (pomijany, jeśli od ostatniego zapisu zmienił się tylko czas)
+    public synchronized void writeCheckpoint() throws IOException {
+        SimulationSnapshot snapshot = simulation.snapshot();
+        byte[] state = snapshot.withElapsedMillis(0).toBytes();
+        if (Arrays.equals(state, lastState)) {
+            return;
+        }
+        byte[] data = snapshot.toBytes();
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + FRAME_HEADER_SIZE + data.length);
+        buffer.putInt(MAGIC).putInt(data.length).putInt((int) crc.getValue()).put(data).flip();
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        try {
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+        lastState = state;
+    }
+
+    private void writeCheckpointQuietly() {
+        try {
+            writeCheckpoint();
+        } catch (IOException e) {
+            System.err.println("Błąd zapisu punktu kontrolnego: " + e.getMessage());
+        }
+    }
+
+    // Zatrzymanie zapisu (z ostatnim punktem kontrolnym). Wątek zapisu nie jest przerywany: przerwany
+    // FileChannel zamyka się w trakcie zapisu (ClosedByInterruptException)
+    @Override
+    public void close() throws IOException {
+        executor.shutdown();
+        boolean interrupted = false;
+        try {
+            executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        try {
+            writeCheckpoint();
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Odczyt punktu kontrolnego z pliku
+    public static SimulationSnapshot read(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < HEADER_SIZE + FRAME_HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Plik nie jest punktem kontrolnym symulacji: " + file);
+        }
+        int length = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (length != buffer.remaining()) {
+            throw new IOException("Niepełny punkt kontrolny: " + file);
+        }
+        byte[] data = new byte[length];
+        buffer.get(data);
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        if ((int) crc.getValue() != checksum) {
+            throw new IOException("Uszkodzony punkt kontrolny: " + file);
+        }
+        return SimulationSnapshot.fromBytes(data);
+    }
+}
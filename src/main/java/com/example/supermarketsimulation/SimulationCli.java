@@ -0,0 +1,239 @@
+package com.example.supermarketsimulation;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+// Tryb wsadowy bez GUI: scenariusze z plików i argumentów wykonywane po kolei w jednej JVM
+// (kolejne scenariusze korzystają z już skompilowanego kodu), podsumowanie na konsoli i kod wyjścia.
+// Klasa ani rdzeń symulacji nie korzystają z JavaFX (widok dostaje stany kas i klientów, kolory dobiera GUI).
+// Uruchamiana przez Launcher z argumentami albo bezpośrednio jako klasa główna; nie przez Main - dla klasy
+// dziedziczącej po Application launcher Javy uruchamia toolkit JavaFX przed main, co bez ekranu kończy się błędem.
+//
+// Użycie: SimulationCli [klucz=wartość ...] [scenariusz.properties|scenariusz.xml ...]
+// Klucze scenariusza: clients, registers (wymagane), clientMinTime, clientMaxTime, cashierMinTime,
+// cashierMaxTime, simulationTime, seed, balkQueueLength, patience, jockeyThreshold (zachowanie klientów, 0 - wyłączone),
+// repeat (liczba powtórzeń), clock (virtual/real),
+// speedup (przyspieszenie zegara rzeczywistego), log (true - komunikaty symulacji na konsoli),
+// report (co ile sekund czasu symulacji wypisywać najbardziej obciążoną kasę, 0 - bez raportów).
+// Wartości z argumentów nadpisują wartości z plików; bez plików wykonywany jest jeden scenariusz z argumentów.
+public class SimulationCli {
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_FAILED = 1; // Któryś scenariusz się nie powiódł
+    public static final int EXIT_USAGE = 2; // Błędne argumenty lub plik scenariusza
+
+    // Scenariusz do wykonania
+    private record Scenario(String name, SimulationParameters parameters, int repeat, boolean realTime,
+                            double speedup, boolean logging, int reportSeconds) {
+    }
+
+    private SimulationCli() {
+    }
+
+    public static void main(String[] args) {
+        System.exit(run(args));
+    }
+
+    // Wykonanie scenariuszy; wynik - kod wyjścia
+    public static int run(String[] args) {
+        Properties overrides = new Properties();
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator > 0) {
+                overrides.setProperty(arg.substring(0, separator), arg.substring(separator + 1));
+            } else {
+                files.add(Paths.get(arg));
+            }
+        }
+        if (files.isEmpty() && overrides.isEmpty()) {
+            System.err.println("Użycie: SimulationCli [klucz=wartość ...] [scenariusz.properties|scenariusz.xml ...]");
+            return EXIT_USAGE;
+        }
+
+        List<Scenario> scenarios = new ArrayList<>();
+        try {
+            if (files.isEmpty()) {
+                scenarios.add(toScenario("argumenty", overrides));
+            }
+            for (Path file : files) {
+                Properties properties = loadScenarioFile(file);
+                properties.putAll(overrides);
+                scenarios.add(toScenario(file.getFileName().toString(), properties));
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Błąd scenariusza: " + e.getMessage());
+            return EXIT_USAGE;
+        }
+
+        long startNanos = System.nanoTime();
+        int runs = 0;
+        int failures = 0;
+        long servedClients = 0;
+        for (Scenario scenario : scenarios) {
+            for (int i = 1; i <= scenario.repeat(); i++) {
+                runs++;
+                try {
+                    long served = runScenario(scenario, i);
+                    if (served < 0) {
+                        failures++;
+                    } else {
+                        servedClients += served;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    System.err.println("Przerwano wykonywanie scenariuszy");
+                    return EXIT_FAILED;
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("Razem: %d przebiegów (%d nieudanych), %d klientów w %.2f s (%.0f klientów/s)%n",
+                runs, failures, servedClients, seconds, seconds == 0 ? 0 : servedClients / seconds);
+        return failures == 0 ? EXIT_OK : EXIT_FAILED;
+    }
+
+    private static Properties loadScenarioFile(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            if (file.getFileName().toString().endsWith(".xml")) {
+                properties.loadFromXML(inputStream);
+            } else {
+                properties.load(inputStream);
+            }
+        } catch (NoSuchFileException e) {
+            throw new IOException("brak pliku " + file, e);
+        } catch (IOException e) {
+            throw new IOException(file + ": " + e.getMessage(), e);
+        }
+        return properties;
+    }
+
+    private static Scenario toScenario(String name, Properties properties) {
+        try {
+            int repeat = Integer.parseInt(properties.getProperty("repeat", "1").trim());
+            double speedup = Double.parseDouble(properties.getProperty("speedup", "1").trim());
+            String clock = properties.getProperty("clock", "virtual").trim();
+            int reportSeconds = Integer.parseInt(properties.getProperty("report", "0").trim());
+            if (repeat < 1 || speedup <= 0 || !(clock.equals("virtual") || clock.equals("real"))
+                    || reportSeconds < 0) {
+                throw new IllegalArgumentException("nieprawidłowe repeat, speedup, clock lub report");
+            }
+            return new Scenario(name, SimulationParameters.fromProperties(properties), repeat, clock.equals("real"),
+                    speedup, Boolean.parseBoolean(properties.getProperty("log", "false").trim()), reportSeconds);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + ": nieprawidłowa liczba (" + e.getMessage() + ")");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(name + ": " + e.getMessage());
+        }
+    }
+
+    // Jeden przebieg scenariusza; wynik - liczba obsłużonych klientów lub -1, jeśli przebieg się nie powiódł
+    private static long runScenario(Scenario scenario, int run) throws InterruptedException {
+        SimulationParameters parameters = scenario.parameters();
+        SimulationClock clock = scenario.realTime() ? new RealTimeClock(0, scenario.speedup()) : new VirtualClock();
+        SupermarketSimulation simulation = new SupermarketSimulation(parameters,
+                scenario.logging() ? SimulationView.HEADLESS : SimulationView.SILENT, clock);
+        SimulationMetrics metrics = new SimulationMetrics();
+        simulation.addListener(new ClientRecordCollector(List.of(metrics)));
+
+        long startNanos = System.nanoTime();
+        boolean completed;
+        try {
+            if (scenario.reportSeconds() > 0) {
+                completed = runWithReports(simulation, scenario);
+            } else if (scenario.realTime()) {
+                simulation.start();
+                completed = simulation.awaitCompletion(realTimeoutMillis(scenario), TimeUnit.MILLISECONDS);
+            } else {
+                simulation.runToCompletion();
+                completed = true;
+            }
+        } catch (InterruptedException e) {
+            simulation.stop(); // Wątki symulacji nie mogą działać dalej po przerwaniu scenariuszy
+            throw e;
+        }
+        if (!completed) {
+            simulation.stop();
+        }
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+
+        boolean stalled = !completed || clock instanceof VirtualClock virtualClock && virtualClock.isStalled();
+        CashRegistersMonitor monitor = simulation.getMonitor();
+        int leftClients = monitor.getBalkedClients() + monitor.getRenegedClients();
+        boolean complete = metrics.getClients() + leftClients == parameters.getClients();
+        System.out.printf("Scenariusz %s [%d/%d]: klienci %d, kasy %d%s%n", scenario.name(), run, scenario.repeat(),
+                parameters.getClients(), parameters.getRegisters(),
+                parameters.isSeeded() ? ", ziarno " + parameters.getSeed() : "");
+        System.out.printf("  Obsłużeni klienci: %d/%d, kasjerzy: %d, czas symulacji: %.1f s, czas: %.3f s (%.0f klientów/s)%n",
+                metrics.getClients(), parameters.getClients(), simulation.getAllCashiers(),
+                clock.now() / 1000.0, seconds, seconds == 0 ? 0 : metrics.getClients() / seconds);
+        System.out.printf("  Oczekiwanie [ms]: średnio %.0f, p50 %d, p95 %d, p99 %d, maks. %d; obsługa [ms]: średnio %.0f%n",
+                metrics.getMeanWait(), metrics.getWaitPercentile(50), metrics.getWaitPercentile(95),
+                metrics.getWaitPercentile(99), metrics.getMaxWait(), metrics.getMeanService());
+        if (!parameters.getClientBehavior().equals(ClientBehavior.NONE)) {
+            System.out.printf("  Rezygnacje: %d, odejścia z kolejki: %d, zmiany kolejki: %d%n",
+                    monitor.getBalkedClients(), monitor.getRenegedClients(), monitor.getJockeyMoves());
+        }
+        if (stalled || !complete) {
+            System.out.printf("  BŁĄD: %s%n", !completed ? "symulacja nie skończyła się w limicie czasu (utknęła)"
+                    : stalled ? "symulacja utknęła" : "nie wszyscy klienci zostali obsłużeni lub odeszli");
+            return -1;
+        }
+        return metrics.getClients();
+    }
+
+    // Limit czasu rzeczywistego przebiegu z zegarem rzeczywistym: po nim przebieg jest uznawany za zawieszony
+    // (z zegarem wirtualnym zawieszenie wykrywa sam zegar)
+    private static long realTimeoutMillis(Scenario scenario) {
+        return (long) (scenario.parameters().worstCaseMillis() / scenario.speedup()) * 2 + 5_000;
+    }
+
+    // Wykonanie z raportem najbardziej obciążonej kasy co reportSeconds sekund czasu symulacji; false, jeśli
+    // przebieg z zegarem rzeczywistym nie skończył się w limicie czasu
+    private static boolean runWithReports(SupermarketSimulation simulation, Scenario scenario)
+            throws InterruptedException {
+        SimulationClock clock = simulation.getClock();
+        long interval = scenario.reportSeconds() * 1000L;
+        simulation.start();
+        if (clock instanceof VirtualClock virtualClock) {
+            long next = clock.now() + interval;
+            while (virtualClock.runUntil(next)) {
+                printHottestRegister(simulation, next);
+                next += interval;
+            }
+        } else {
+            long realInterval = Math.max(1, (long) (interval / scenario.speedup()));
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(realTimeoutMillis(scenario));
+            while (!simulation.awaitCompletion(realInterval, TimeUnit.MILLISECONDS)) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+                printHottestRegister(simulation, clock.now());
+            }
+        }
+        simulation.awaitCompletion();
+        return true;
+    }
+
+    // Kasa z najdłuższą średnią kolejką w ostatniej minucie i jej statystyki w oknach raportu
+    private static void printHottestRegister(SupermarketSimulation simulation, long now) {
+        QueueTelemetry telemetry = simulation.getMonitor().getQueueTelemetry();
+        QueueTelemetry.Window hottest = telemetry.hottest(QueueTelemetry.MAX_WINDOW_SECONDS, now);
+        StringBuilder line = new StringBuilder(String.format("  [%.0f s] kasa %d, kolejka %d:", now / 1000.0,
+                hottest.registerId(), hottest.length()));
+        for (int seconds : QueueTelemetry.REPORT_WINDOWS) {
+            QueueTelemetry.Window window = telemetry.window(hottest.registerId() - 1, seconds, now);
+            line.append(String.format(" %d s - średnio %.1f, maks. %d, przyjścia %.2f/s, odejścia %.2f/s;",
+                    seconds, window.meanLength(), window.maxLength(), window.arrivalRate(), window.departureRate()));
+        }
+        System.out.println(line);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.supermarketsimulation;
+
+// Zegar symulacji - czas w milisekundach od początku symulacji
+public interface SimulationClock {
+    long now();
+
+    void sleep(long millis) throws InterruptedException;
+
+    // Wątek nie ma nic do zrobienia i czeka na zmianę stanu symulacji
+    void idle() throws InterruptedException;
+
+    // Utworzenie (nieuruchomionego) wątku kasjera lub klienta
+    Thread newThread(Runnable task);
+}
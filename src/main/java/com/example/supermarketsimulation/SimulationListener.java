@@ -0,0 +1,45 @@
+package com.example.supermarketsimulation;
+
+// Zdarzenia monitora (wywoływane pod zamkiem monitora, więc muszą być szybkie)
+public interface SimulationListener {
+    // Klient ustawił się w kolejce; queueLength - liczba osób przed nim
+    default void clientEntered(long time, int clientId, int registerId, int queueLength) {
+    }
+
+    // Klient zrezygnował z zakupów; queueLength - długość najkrótszej otwartej kolejki
+    default void clientBalked(long time, int clientId, int queueLength) {
+    }
+
+    // Klient opuścił kolejkę, bo jego obsługa nie zaczęła się w czasie cierpliwości
+    default void clientReneged(long time, int clientId, int registerId) {
+    }
+
+    // Klient przeszedł na koniec kolejki do innej kasy; queueLength - liczba osób przed nim w nowej kolejce
+    default void clientJockeyed(long time, int clientId, int fromRegisterId, int toRegisterId, int queueLength) {
+    }
+
+    default void serviceStarted(long time, int clientId, int registerId, int cashierId) {
+    }
+
+    default void serviceFinished(long time, int clientId, int registerId, int cashierId) {
+    }
+
+    default void breakRequested(long time, int registerId) {
+    }
+
+    default void changeRequested(long time, int registerId) {
+    }
+
+    // Kasa przestała przyjmować klientów (początek przerwy lub zmiany)
+    default void registerClosed(long time, int registerId) {
+    }
+
+    default void registerOpened(long time, int registerId) {
+    }
+
+    default void breakStarted(long time, int registerId) {
+    }
+
+    default void cashierChangeStarted(long time, int registerId) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.supermarketsimulation;
+
+// Podsumowanie obsługi klientów o stałym rozmiarze w pamięci (liczniki + histogram czasów oczekiwania)
+public class SimulationMetrics implements ClientRecordWriter {
+    private static final int SUB_BUCKETS = 8; // Dokładność histogramu: 1/8 potęgi dwójki
+    private static final int SUB_BUCKET_BITS = 3;
+
+    private final long[] waitHistogram = new long[64 * SUB_BUCKETS];
+    private long clients; // Obsłużeni klienci
+    private long timedClients; // Klienci ze znanym czasem przyjścia
+    private long totalWait;
+    private long maxWait;
+    private long totalService;
+    private long lastServiceEnd; // Czas zakończenia ostatniej obsługi
+
+    @Override
+    public synchronized void write(ClientRecord record) {
+        clients++;
+        if (record.serviceStart() >= 0 && record.serviceEnd() >= 0) {
+            totalService += record.serviceEnd() - record.serviceStart();
+        }
+        lastServiceEnd = Math.max(lastServiceEnd, record.serviceEnd());
+        if (record.arrivalTime() >= 0 && record.serviceStart() >= 0) {
+            long wait = Math.max(0, record.serviceStart() - record.arrivalTime());
+            timedClients++;
+            totalWait += wait;
+            maxWait = Math.max(maxWait, wait);
+            waitHistogram[bucketIndex(wait)]++;
+        }
+    }
+
+    // Dołączenie wyników innego sklepu (podsumowanie całej sieci)
+    public synchronized void merge(SimulationMetrics other) {
+        synchronized (other) {
+            clients += other.clients;
+            timedClients += other.timedClients;
+            totalWait += other.totalWait;
+            maxWait = Math.max(maxWait, other.maxWait);
+            totalService += other.totalService;
+            lastServiceEnd = Math.max(lastServiceEnd, other.lastServiceEnd);
+            for (int i = 0; i < waitHistogram.length; i++) {
+                waitHistogram[i] += other.waitHistogram[i];
+            }
+        }
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    // Górna granica przedziału histogramu
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long top = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+
+    // Percentyl czasu oczekiwania (dokładność ok. 12%)
+    public synchronized long getWaitPercentile(double percentile) {
+        if (timedClients == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(timedClients * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < waitHistogram.length; i++) {
+            seen += waitHistogram[i];
+            if (seen >= target) {
+                return Math.min(bucketUpperBound(i), maxWait);
+            }
+        }
+        return maxWait;
+    }
+
+    public synchronized long getClients() {
+        return clients;
+    }
+
+    public synchronized double getMeanWait() {
+        return timedClients == 0 ? 0 : (double) totalWait / timedClients;
+    }
+
+    public synchronized long getMaxWait() {
+        return maxWait;
+    }
+
+    public synchronized double getMeanService() {
+        return clients == 0 ? 0 : (double) totalService / clients;
+    }
+
+    public synchronized long getLastServiceEnd() {
+        return lastServiceEnd;
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.supermarketsimulation;
+
+import java.util.Properties;
+
+// Parametry symulacji
+public class SimulationParameters {
+    // Najmniej kas: kasa zamknięta na przerwę lub zmianę kasjera musi mieć otwartą kasę dla nowych klientów
+    public static final int MIN_REGISTERS = 2;
+
+    private final int clients; // Liczba klientów
+    private final int registers; // Liczba kas
+    private final int clientMinTime; // Minimalny czas przybycia klienta
+    private final int clientMaxTime; // Maksymalny czas przybycia klienta
+    private final int cashierMinTime; // Minimalny czas obsługi przez kasjera
+    private final int cashierMaxTime; // Maksymalny czas obsługi przez kasjera
+    private final int simulationTime; // Czas trwania kroku symulacji (w sekundach)
+    private final boolean seeded; // Tryb powtarzalny: wszystkie losowania wynikają z ziarna
+    private final long seed;
+    private final ClientBehavior clientBehavior; // Rezygnacja, odejście z kolejki i zmiana kolejki
+
+    public SimulationParameters(int clients, int registers, int clientMinTime, int clientMaxTime,
+                                int cashierMinTime, int cashierMaxTime, int simulationTime) {
+        this(clients, registers, clientMinTime, clientMaxTime, cashierMinTime, cashierMaxTime, simulationTime,
+                false, 0, ClientBehavior.NONE);
+    }
+
+    private SimulationParameters(int clients, int registers, int clientMinTime, int clientMaxTime,
+                                 int cashierMinTime, int cashierMaxTime, int simulationTime, boolean seeded,
+                                 long seed, ClientBehavior clientBehavior) {
+        this.clients = clients;
+        this.registers = registers;
+        this.clientMinTime = clientMinTime;
+        this.clientMaxTime = clientMaxTime;
+        this.cashierMinTime = cashierMinTime;
+        this.cashierMaxTime = cashierMaxTime;
+        this.simulationTime = simulationTime;
+        this.seeded = seeded;
+        this.seed = seed;
+        this.clientBehavior = clientBehavior;
+    }
+
+    // Domyślne czasy używane w GUI
+    public static SimulationParameters defaults(int clients, int registers) {
+        return new SimulationParameters(clients, registers, 900, 3000, 5000, 6000, 2);
+    }
+
+    // Parametry scenariusza zapisanego w pliku .properties/.xml (klucze jak nazwy pól; wymagane clients i registers,
+    // pozostałe mają wartości domyślne, a seed włącza tryb powtarzalny; zachowanie klientów: balkQueueLength,
+    // patience [ms], jockeyThreshold)
+    public static SimulationParameters fromProperties(Properties properties) {
+        SimulationParameters defaults = defaults(requiredInt(properties, "clients"), requiredInt(properties, "registers"));
+        SimulationParameters parameters = new SimulationParameters(defaults.clients, defaults.registers,
+                optionalInt(properties, "clientMinTime", defaults.clientMinTime),
+                optionalInt(properties, "clientMaxTime", defaults.clientMaxTime),
+                optionalInt(properties, "cashierMinTime", defaults.cashierMinTime),
+                optionalInt(properties, "cashierMaxTime", defaults.cashierMaxTime),
+                optionalInt(properties, "simulationTime", defaults.simulationTime));
+        String seed = properties.getProperty("seed");
+        ClientBehavior behavior = new ClientBehavior(optionalInt(properties, "balkQueueLength", 0),
+                optionalInt(properties, "patience", 0), optionalInt(properties, "jockeyThreshold", 0));
+        parameters = parameters.withClientBehavior(behavior);
+        if (seed != null) {
+            try {
+                parameters = parameters.withSeed(Long.parseLong(seed.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Nieprawidłowa wartość seed: " + seed);
+            }
+        }
+        if (parameters.registers < MIN_REGISTERS) {
+            throw new IllegalArgumentException("Potrzebne są co najmniej " + MIN_REGISTERS + " kasy");
+        }
+        if (parameters.clients < 1) {
+            throw new IllegalArgumentException("Liczba klientów musi być dodatnia");
+        }
+        if (parameters.clientMinTime < 0 || parameters.cashierMinTime < 0 || parameters.simulationTime < 0) {
+            throw new IllegalArgumentException("Czasy nie mogą być ujemne");
+        }
+        if (parameters.clientMinTime >= parameters.clientMaxTime) {
+            throw new IllegalArgumentException("clientMinTime musi być mniejszy niż clientMaxTime");
+        }
+        if (parameters.cashierMinTime > parameters.cashierMaxTime) {
+            throw new IllegalArgumentException("cashierMinTime nie może być większy niż cashierMaxTime");
+        }
+        return parameters;
+    }
+
+    private static int requiredInt(Properties properties, String key) {
+        if (properties.getProperty(key) == null) {
+            throw new IllegalArgumentException("Brak wymaganej wartości " + key);
+        }
+        return optionalInt(properties, key, 0);
+    }
+
+    private static int optionalInt(Properties properties, String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nieprawidłowa wartość " + key + ": " + value);
+        }
+    }
+
+    // Te same parametry z ustalonym ziarnem losowania
+    public SimulationParameters withSeed(long seed) {
+        return new SimulationParameters(clients, registers, clientMinTime, clientMaxTime, cashierMinTime,
+                cashierMaxTime, simulationTime, true, seed, clientBehavior);
+    }
+
+    // Te same parametry z innym zachowaniem klientów
+    public SimulationParameters withClientBehavior(ClientBehavior clientBehavior) {
+        return new SimulationParameters(clients, registers, clientMinTime, clientMaxTime, cashierMinTime,
+                cashierMaxTime, simulationTime, seeded, seed, clientBehavior);
+    }
+
+    // Górne oszacowanie czasu symulacji [ms] (wszyscy klienci w jednej kasie, z przerwami), z dużym zapasem
+    public long worstCaseMillis() {
+        return (long) clients * (clientMaxTime + cashierMaxTime + simulationTime * 1000L) + 10_000;
+    }
+
+    public int getClients() {
+        return clients;
+    }
+
+    public int getRegisters() {
+        return registers;
+    }
+
+    public int getClientMinTime() {
+        return clientMinTime;
+    }
+
+    public int getClientMaxTime() {
+        return clientMaxTime;
+    }
+
+    public int getCashierMinTime() {
+        return cashierMinTime;
+    }
+
+    public int getCashierMaxTime() {
+        return cashierMaxTime;
+    }
+
+    public int getSimulationTime() {
+        return simulationTime;
+    }
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public ClientBehavior getClientBehavior() {
+        return clientBehavior;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.supermarketsimulation;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+// Generator liczb losowych (SplitMix64) z jawnym stanem, który można zapisać w punkcie kontrolnym
+public class SimulationRandom {
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    private volatile long state;
+
+    public SimulationRandom(long state) {
+        this.state = state;
+    }
+
+    // Generator z losowym ziarnem
+    public static SimulationRandom unseeded() {
+        return new SimulationRandom(ThreadLocalRandom.current().nextLong());
+    }
+
+    // Niezależny strumień dla danego rodzaju obiektu i jego numeru (to samo ziarno - te same liczby)
+    public static SimulationRandom forStream(long seed, int stream, long index) {
+        return new SimulationRandom(mix(mix(seed + stream * GOLDEN_GAMMA) + index));
+    }
+
+    // Mieszanie bitów (funkcja końcowa SplitMix64)
+    public static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    public long nextLong() {
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    // Liczba z przedziału [origin; bound)
+    public int nextInt(int origin, int bound) {
+        if (origin >= bound) {
+            throw new IllegalArgumentException("bound must be greater than origin");
+        }
+        long range = (long) bound - origin;
+        return (int) (origin + Math.floorMod(nextLong(), range));
+    }
+
+    public long getState() {
+        return state;
+    }
+}
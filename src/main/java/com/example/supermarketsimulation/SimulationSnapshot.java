@@ -0,0 +1,217 @@
+package com.example.supermarketsimulation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Spójny zrzut stanu symulacji (kolejki, kasjerzy, operacje, stan generatorów losowych)
+public class SimulationSnapshot {
+    private static final int FORMAT_VERSION = 1;
+
+    private final SimulationParameters parameters;
+    private final long elapsedMillis; // Czas symulacji w chwili zrzutu
+    private final int allCashiers;
+    private final long arrivalRandomState;
+    private final CashRegistersMonitor.State monitorState;
+    private final List<Cashier.State> cashierStates;
+
+    public SimulationSnapshot(SimulationParameters parameters, long elapsedMillis, int allCashiers,
+                              long arrivalRandomState, CashRegistersMonitor.State monitorState,
+                              List<Cashier.State> cashierStates) {
+        this.parameters = parameters;
+        this.elapsedMillis = elapsedMillis;
+        this.allCashiers = allCashiers;
+        this.arrivalRandomState = arrivalRandomState;
+        this.monitorState = monitorState;
+        this.cashierStates = List.copyOf(cashierStates);
+    }
+
+    // Ten sam stan z innym czasem zrzutu (np. do porównania stanów bez czasu)
+    public SimulationSnapshot withElapsedMillis(long elapsedMillis) {
+        return new SimulationSnapshot(parameters, elapsedMillis, allCashiers, arrivalRandomState, monitorState,
+                cashierStates);
+    }
+
+    // Zapis do zwartej postaci binarnej
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeVarInt(out, FORMAT_VERSION);
+            writeVarInt(out, parameters.getClients());
+            writeVarInt(out, parameters.getRegisters());
+            writeVarInt(out, parameters.getClientMinTime());
+            writeVarInt(out, parameters.getClientMaxTime());
+            writeVarInt(out, parameters.getCashierMinTime());
+            writeVarInt(out, parameters.getCashierMaxTime());
+            writeVarInt(out, parameters.getSimulationTime());
+            out.writeBoolean(parameters.isSeeded());
+            out.writeLong(parameters.getSeed());
+            ClientBehavior behavior = parameters.getClientBehavior();
+            writeVarInt(out, behavior.balkQueueLength());
+            writeVarLong(out, behavior.patienceMillis());
+            writeVarInt(out, behavior.jockeyThreshold());
+            writeVarLong(out, elapsedMillis);
+            writeVarInt(out, allCashiers);
+            out.writeLong(arrivalRandomState);
+
+            writeVarInt(out, monitorState.totalClients());
+            writeVarInt(out, monitorState.announcedClients());
+            writeIntArray(out, monitorState.pendingArrivals());
+            writeVarInt(out, monitorState.queues().length);
+            for (int i = 0; i < monitorState.queues().length; i++) {
+                out.writeBoolean(monitorState.openStatus()[i]);
+                writeIntArray(out, monitorState.queues()[i]);
+            }
+            writeIntArray(out, monitorState.operationQueue());
+            out.writeBoolean(monitorState.operationActive());
+            writeIntArray(out, monitorState.patienceClients());
+            for (long deadline : monitorState.patienceDeadlines()) {
+                writeVarLong(out, deadline);
+            }
+            writeVarInt(out, monitorState.balkedClients());
+            writeVarInt(out, monitorState.renegedClients());
+            writeVarInt(out, monitorState.jockeyMoves());
+
+            writeVarInt(out, cashierStates.size());
+            for (Cashier.State state : cashierStates) {
+                writeVarInt(out, state.cashierId());
+                writeVarInt(out, state.registerId());
+                writeVarLong(out, state.totalServiceTime());
+                out.writeByte((state.breakRequested() ? 1 : 0) | (state.changeRequested() ? 2 : 0)
+                        | (state.afterBreak() ? 4 : 0));
+                out.writeLong(state.randomState());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Nie udało się zapisać stanu symulacji", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    // Odczyt z postaci binarnej
+    public static SimulationSnapshot fromBytes(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        int version = readVarInt(in);
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Nieobsługiwana wersja punktu kontrolnego: " + version);
+        }
+        SimulationParameters parameters = new SimulationParameters(readVarInt(in), readVarInt(in), readVarInt(in),
+                readVarInt(in), readVarInt(in), readVarInt(in), readVarInt(in));
+        boolean seeded = in.readBoolean();
+        long seed = in.readLong();
+        if (seeded) {
+            parameters = parameters.withSeed(seed);
+        }
+        parameters = parameters.withClientBehavior(new ClientBehavior(readVarInt(in), readVarLong(in), readVarInt(in)));
+        long elapsedMillis = readVarLong(in);
+        int allCashiers = readVarInt(in);
+        long arrivalRandomState = in.readLong();
+
+        int totalClients = readVarInt(in);
+        int announcedClients = readVarInt(in);
+        int[] pendingArrivals = readIntArray(in);
+        int registers = readVarInt(in);
+        int[][] queues = new int[registers][];
+        boolean[] openStatus = new boolean[registers];
+        for (int i = 0; i < registers; i++) {
+            openStatus[i] = in.readBoolean();
+            queues[i] = readIntArray(in);
+        }
+        int[] operationQueue = readIntArray(in);
+        boolean operationActive = in.readBoolean();
+        int[] patienceClients = readIntArray(in);
+        long[] patienceDeadlines = new long[patienceClients.length];
+        for (int i = 0; i < patienceDeadlines.length; i++) {
+            patienceDeadlines[i] = readVarLong(in);
+        }
+        CashRegistersMonitor.State monitorState = new CashRegistersMonitor.State(totalClients, announcedClients,
+                pendingArrivals, queues, openStatus, operationQueue, operationActive, patienceClients,
+                patienceDeadlines, readVarInt(in), readVarInt(in), readVarInt(in));
+
+        int cashierCount = readVarInt(in);
+        List<Cashier.State> cashierStates = new ArrayList<>(cashierCount);
+        for (int i = 0; i < cashierCount; i++) {
+            int cashierId = readVarInt(in);
+            int registerId = readVarInt(in);
+            long totalServiceTime = readVarLong(in);
+            int flags = in.readByte();
+            cashierStates.add(new Cashier.State(cashierId, registerId, totalServiceTime, (flags & 1) != 0,
+                    (flags & 2) != 0, (flags & 4) != 0, in.readLong()));
+        }
+        return new SimulationSnapshot(parameters, elapsedMillis, allCashiers, arrivalRandomState, monitorState,
+                cashierStates);
+    }
+
+    private static void writeIntArray(DataOutput out, int[] values) throws IOException {
+        writeVarInt(out, values.length);
+        for (int value : values) {
+            writeVarInt(out, value);
+        }
+    }
+
+    private static int[] readIntArray(DataInput in) throws IOException {
+        int[] values = new int[readVarInt(in)];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readVarInt(in);
+        }
+        return values;
+    }
+
+    private static void writeVarInt(DataOutput out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    // Liczby nieujemne zapisywane po 7 bitów na bajt
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Uszkodzona liczba w punkcie kontrolnym");
+    }
+
+    public SimulationParameters getParameters() {
+        return parameters;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public int getAllCashiers() {
+        return allCashiers;
+    }
+
+    public long getArrivalRandomState() {
+        return arrivalRandomState;
+    }
+
+    public CashRegistersMonitor.State getMonitorState() {
+        return monitorState;
+    }
+
+    public List<Cashier.State> getCashierStates() {
+        return cashierStates;
+    }
+}
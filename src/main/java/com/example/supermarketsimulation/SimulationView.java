@@ -0,0 +1,52 @@
+package com.example.supermarketsimulation;
+
+// Widok symulacji - domyślnie nic nie rysuje (tryb bez GUI)
+public interface SimulationView {
+    SimulationView HEADLESS = new SimulationView() {};
+    // Bez rysowania i bez komunikatów na konsoli
+    SimulationView SILENT = new SimulationView() {
+        @Override
+        public boolean isLogging() {
+            return false;
+        }
+    };
+
+    default boolean isLogging() {
+        return true;
+    }
+
+    // Komunikat o przebiegu symulacji
+    default void log(String format, Object... args) {
+        if (isLogging()) {
+            System.out.printf(format, args);
+        }
+    }
+
+    default void createClientCircle(int clientId) {
+    }
+
+    default void moveClientToCashRegister(int clientId, int registerId) {
+    }
+
+    default void shiftClientCirclesUp(int registerId) {
+    }
+
+    default void updateClientState(int clientId, ClientState state) {
+    }
+
+    default void removeClientCircle(int clientId) {
+    }
+
+    default void createCashierCircle(int registerId) {
+    }
+
+    default void removeCashierCircle(int registerId) {
+    }
+
+    default void updateCashRegisterState(int registerId, RegisterState state) {
+    }
+
+    // Koniec symulacji
+    default void simulationFinished(int allCashiers) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.supermarketsimulation;
+
+import java.time.Instant;
+
+// Pomiar czasu uruchamiania programu (od startu JVM), wypisywany na konsoli
+public class StartupTiming {
+    private static final long JVM_START_MILLIS = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElse(System.currentTimeMillis());
+
+    private StartupTiming() {
+    }
+
+    // Czas od startu JVM do danego etapu
+    public static long elapsedMillis() {
+        return System.currentTimeMillis() - JVM_START_MILLIS;
+    }
+
+    public static void mark(String phase) {
+        System.out.printf("[start] %s: %d ms%n", phase, elapsedMillis());
+    }
+
+    // Czas od wcześniejszej chwili (System.nanoTime), np. od kliknięcia "Start"
+    public static void markSince(String phase, long startNanos) {
+        System.out.printf("[start] %s: %d ms%n", phase, (System.nanoTime() - startNanos) / 1_000_000);
+    }
+}
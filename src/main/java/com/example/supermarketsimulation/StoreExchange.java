@@ -0,0 +1,96 @@
+package com.example.supermarketsimulation;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Skrzynka sklepu do przekazywania klientów sąsiednim sklepom - tylko komunikaty, bez blokad między sklepami.
+// Nadawca najpierw rezerwuje miejsce w liczniku odbiorcy (nie da się, gdy odbiorca jest zamknięty),
+// a dopiero potem wysyła komunikat, więc żaden klient nie zginie przy zamykaniu sklepu.
+public class StoreExchange implements ClientExchange {
+    private static final int CLOSED = -1;
+
+    private final int storeIndex;
+    private final int overflowThreshold; // Długość najkrótszej kolejki, od której klient idzie do sąsiada
+    private final Queue<Integer> inbox = new ConcurrentLinkedQueue<>(); // Komunikaty: numer sklepu nadawcy
+    private final AtomicInteger pending = new AtomicInteger(); // Wysłane, jeszcze nieodebrane (CLOSED - zamknięty)
+    private volatile int load; // Ostatnio ogłoszona długość najkrótszej kolejki
+    private List<StoreExchange> neighbors = List.of();
+    private int transfersOut;
+    private int transfersIn;
+
+    public StoreExchange(int storeIndex, int overflowThreshold) {
+        this.storeIndex = storeIndex;
+        this.overflowThreshold = overflowThreshold;
+    }
+
+    public void setNeighbors(List<StoreExchange> neighbors) {
+        this.neighbors = List.copyOf(neighbors);
+    }
+
+    @Override
+    public void publishLoad(int shortestQueueLength) {
+        load = shortestQueueLength;
+    }
+
+    @Override
+    public boolean tryTransferOut(int shortestQueueLength) {
+        if (shortestQueueLength < overflowThreshold) {
+            return false;
+        }
+        StoreExchange target = null;
+        for (StoreExchange neighbor : neighbors) {
+            if (neighbor.load < shortestQueueLength - 1 && (target == null || neighbor.load < target.load)) {
+                target = neighbor;
+            }
+        }
+        if (target == null || !target.reserve()) {
+            return false;
+        }
+        target.inbox.add(storeIndex);
+        transfersOut++;
+        return true;
+    }
+
+    private boolean reserve() {
+        int current;
+        do {
+            current = pending.get();
+            if (current == CLOSED) {
+                return false;
+            }
+        } while (!pending.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    @Override
+    public int drainIncoming() {
+        int received = 0;
+        while (inbox.poll() != null) {
+            received++;
+        }
+        if (received > 0) {
+            pending.addAndGet(-received);
+            transfersIn += received;
+        }
+        return received;
+    }
+
+    @Override
+    public boolean tryClose() {
+        return inbox.isEmpty() && pending.compareAndSet(0, CLOSED);
+    }
+
+    public int getStoreIndex() {
+        return storeIndex;
+    }
+
+    public int getTransfersOut() {
+        return transfersOut;
+    }
+
+    public int getTransfersIn() {
+        return transfersIn;
+    }
+}
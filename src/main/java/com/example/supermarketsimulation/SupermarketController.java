@@ -3,6 +3,7 @@ package com.example.supermarketsimulation;
 import javafx.animation.TranslateTransition;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.TextField;
 import javafx.scene.control.Alert;
@@ -19,10 +20,13 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
 
-public class SupermarketController {
+public class SupermarketController implements SimulationView {
     @FXML
     private TextField clientCountField;
     @FXML
@@ -32,22 +36,25 @@ public class SupermarketController {
     @FXML
     private Button startButton;
 
-    private int m; // Liczba klientów
-    private int n; // Liczba kas
-    private int clientMinTime; // Minimalny czas przybycia klienta
-    private int clientMaxTime; // Maksymalny czas przybycia klienta
-    private int cashierMinTime; // Minimalny czas obsługi przez kasjera
-    private int cashierMaxTime; // Maksymalny czas obsługi przez kasjera
-    private int allCashiers; // Całkowita liczba kasjerów
-    private int simulationTime; // Czas trwania symulacji
-    private CashRegistersMonitor monitor;
-    private List<Thread> clientThreads; // Lista wątków klientów
-    private List<Thread> cashierThreads; // Lista wątków kasjerów
-    private List<Cashier> cashiers; // Lista kasjerów
+    private static final Path CHECKPOINT_FILE = Paths.get("symulacja.ckpt"); // Plik punktów kontrolnych
+    private static final long CHECKPOINT_INTERVAL_MILLIS = 1000;
+    private static final Path CSV_EXPORT_FILE = Paths.get("klienci.csv"); // Rekordy klientów (CSV)
+    private static final Path COLUMNAR_EXPORT_FILE = Paths.get("klienci.smcr"); // Rekordy klientów (kolumnowo)
+    private static final double WINDOW_WIDTH = 800;
+    private static final double WINDOW_HEIGHT = 600;
+    private static final double REGISTER_WIDTH = 60;
+    private static final double REGISTER_HEIGHT = 30;
+    private static final double REGISTER_SPACING = 10;
+    private static final double REGISTER_X_OFFSET = 10;
+    private static final double REGISTER_Y_OFFSET = 30;
+
+    private volatile SupermarketSimulation simulation;
+    private volatile SimulationCheckpointer checkpointer; // Zapis punktów kontrolnych w tle
+    private volatile ClientRecordCollector recordCollector; // Zapis rekordów klientów
+    // Węzły widoku (używane tylko w wątku FX)
     private Map<Integer, Rectangle> cashRegisterRectangles; // Prostokąty reprezentujące kasy
     private Map<Integer, Circle> clientCircles; // Koła reprezentujące klientów
     private Map<Integer, Circle> cashierCircles; // Koła reprezentujące kasjerów
-    private Thread clientCreationThread; // Wątek do tworzenia klientów
 
     @FXML
     public void initialize() {
@@ -61,7 +68,7 @@ public class SupermarketController {
         try {
             int clients = Integer.parseInt(clientCountField.getText());
             int registers = Integer.parseInt(cashRegisterCountField.getText());
-            startButton.setDisable(clients < 20 || clients > 100 || registers < 2 || registers > 5);
+            startButton.setDisable(clients < 20 || clients > 100 || registers < SimulationParameters.MIN_REGISTERS || registers > 5);
         } catch (NumberFormatException e) {
             startButton.setDisable(true);
         }
@@ -125,161 +132,202 @@ public class SupermarketController {
     @FXML
     public void startSimulation() {
         try {
-            m = Integer.parseInt(clientCountField.getText());
-            n = Integer.parseInt(cashRegisterCountField.getText());
-
-            clientMinTime = 900;
-            clientMaxTime = 3000;
-            cashierMinTime = 5000;
-            cashierMaxTime = 6000;
-            allCashiers = 0;
-            simulationTime = 2;
-
-            monitor = new CashRegistersMonitor(n, m, this);
-            clientThreads = new ArrayList<>();
-            cashierThreads = new ArrayList<>();
-            cashiers = new ArrayList<>();
-            cashRegisterRectangles = new HashMap<>();
-            clientCircles = new HashMap<>();
-            cashierCircles = new HashMap<>();
-
-            Platform.runLater(this::enlargeWindowAndClear);
-
-            for (int i = 0; i < n; i++) {
-                createCashRegisterRectangle(i + 1);
-                updateCashRegisterColor(i + 1, Color.GREEN);
-                createCashierCircle(i + 1);
-            }
+            int m = Integer.parseInt(clientCountField.getText()); // Liczba klientów
+            int n = Integer.parseInt(cashRegisterCountField.getText()); // Liczba kas
+            SimulationParameters parameters = SimulationParameters.defaults(m, n);
+            launchInBackground(() -> new SupermarketSimulation(parameters, this));
+        } catch (NumberFormatException e) {
+            showAlert("Nieprawidłowe dane.");
+        }
+    }
 
-            // Tworzenie kasjerów
-            for (int i = 0; i < n; i++) {
-                Cashier cashier = new Cashier(i + 1, i + 1, monitor, cashierMinTime, cashierMaxTime, this);
-                Thread cashierThread = new Thread(cashier);
-                cashiers.add(cashier);
-                allCashiers++;
-                cashierThreads.add(cashierThread);
-                cashierThread.start();
+    // Wznowienie symulacji z punktu kontrolnego
+    @FXML
+    private void resumeSimulation() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Punkty kontrolne", "*.ckpt"));
+        fileChooser.setTitle("Wybierz punkt kontrolny");
+        File file = fileChooser.showOpenDialog(Main.getPrimaryStage());
+        if (file != null) {
+            Path path = file.toPath();
+            launchInBackground(() -> new SupermarketSimulation(SimulationCheckpointer.read(path), this));
+        }
+    }
+
+    // Budowa rdzenia symulacji (odczyt punktu kontrolnego, pliki wynikowe, wątki) poza wątkiem FX
+    private void launchInBackground(Callable<SupermarketSimulation> factory) {
+        long requestedNanos = System.nanoTime();
+        startButton.setDisable(true);
+        Thread launcher = new Thread(() -> {
+            try {
+                launchSimulation(factory.call(), requestedNanos);
+            } catch (IOException e) {
+                Platform.runLater(() -> {
+                    validateInputs();
+                    showAlert("Błąd podczas wczytywania punktu kontrolnego: " + e.getMessage());
+                });
+            } catch (Exception e) {
+                Platform.runLater(() -> {
+                    validateInputs();
+                    showAlert("Nie udało się uruchomić symulacji: " + e.getMessage());
+                });
             }
+        }, "simulation-launcher");
+        launcher.start();
+    }
+
+    private void launchSimulation(SupermarketSimulation newSimulation, long requestedNanos) {
+        simulation = newSimulation;
+        int n = simulation.getParameters().getRegisters();
+
+        // Scena budowana w jednym przebiegu wątku FX; zmiany widoku z symulacji trafiają do kolejki FX po niej
+        Platform.runLater(() -> {
+            buildScene(n);
+            StartupTiming.markSince("Scena gotowa", requestedNanos);
+        });
 
-            // Wątek do tworzenia klientów
-            clientCreationThread = new Thread(() -> {
-                try {
-                    // Tworzenie klientów
-                    for (int i = 0; i < m; i++) {
-                        Thread.sleep(ThreadLocalRandom.current().nextInt(clientMinTime, clientMaxTime));
-                        Client client = new Client(i + 1, monitor);
-                        Thread clientThread = new Thread(client);
-                        clientThreads.add(clientThread);
-                        clientThread.start();
-                    }
-
-                    for (Thread thread : clientThreads) {
-                        try {
-                            thread.join();
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                        }
-                    }
-
-                    for (Thread thread : cashierThreads) {
-                        try {
-                            thread.join();
-                        } catch (InterruptedException e) {
-                            Thread.currentThread().interrupt();
-                        }
-                    }
-
-                    Platform.runLater(() -> {
-                        showAlert("Wszyscy klienci zostali obsłużeni. Program kończy działanie.\nŁączna liczba kasjerów: " + allCashiers);
-                    });
-
-                    System.out.println("Wszyscy klienci zostali obsłużeni. Program kończy działanie.");
-
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt();
+        AtomicBoolean firstEvent = new AtomicBoolean();
+        simulation.addListener(new SimulationListener() {
+            @Override
+            public void clientEntered(long time, int clientId, int registerId, int queueLength) {
+                if (firstEvent.compareAndSet(false, true)) {
+                    StartupTiming.markSince("Pierwsze zdarzenie symulacji", requestedNanos);
                 }
-            });
-            clientCreationThread.start();
+            }
+        });
 
-        } catch (NumberFormatException e) {
-            showAlert("Nieprawidłowe dane.");
+        try {
+            recordCollector = new ClientRecordCollector(List.of(new AsyncClientRecordWriter(List.of(
+                    new CsvClientRecordWriter(CSV_EXPORT_FILE), new ColumnarClientRecordWriter(COLUMNAR_EXPORT_FILE)))));
+            simulation.addListener(recordCollector);
+        } catch (IOException e) {
+            System.err.println("Nie można zapisywać rekordów klientów: " + e.getMessage());
         }
+
+        simulation.start();
+        StartupTiming.markSince("Symulacja uruchomiona", requestedNanos);
+        try {
+            checkpointer = new SimulationCheckpointer(simulation, CHECKPOINT_FILE, CHECKPOINT_INTERVAL_MILLIS);
+        } catch (IOException e) {
+            System.err.println("Nie można zapisywać punktów kontrolnych: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void simulationFinished(int allCashiers) {
+        closeCheckpointer();
+        closeRecordCollector();
+        Platform.runLater(() -> {
+            showAlert("Wszyscy klienci zostali obsłużeni. Program kończy działanie.\nŁączna liczba kasjerów: " + allCashiers
+                    + "\nRekordy klientów: " + CSV_EXPORT_FILE + ", " + COLUMNAR_EXPORT_FILE);
+        });
     }
 
     // Stop symulacji
     public void stopSimulation() {
-        if (clientCreationThread != null && clientCreationThread.isAlive()) {
-            clientCreationThread.interrupt();
+        if (simulation != null) {
+            simulation.stop();
         }
-        if (clientThreads != null) {
-            for (Thread clientThread : clientThreads) {
-                if (clientThread.isAlive()) {
-                    clientThread.interrupt();
-                }
+        closeCheckpointer();
+        closeRecordCollector();
+        Platform.exit();
+        System.exit(0);
+    }
+
+    private void closeCheckpointer() {
+        SimulationCheckpointer current = checkpointer;
+        checkpointer = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                System.err.println("Błąd zapisu punktu kontrolnego: " + e.getMessage());
             }
         }
-        if (cashierThreads != null) {
-            for (Thread cashierThread : cashierThreads) {
-                if (cashierThread.isAlive()) {
-                    cashierThread.interrupt();
-                }
+    }
+
+    private void closeRecordCollector() {
+        ClientRecordCollector current = recordCollector;
+        recordCollector = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException e) {
+                System.err.println("Błąd zapisu rekordów klientów: " + e.getMessage());
             }
         }
-        Platform.exit();
-        System.exit(0);
     }
 
-    // Powiększenie i wyczyszczenie GUI
-    private void enlargeWindowAndClear() {
+    // Powiększenie okna i zbudowanie sceny (kasy i kasjerzy) jednym dodaniem węzłów
+    private void buildScene(int registers) {
         Stage stage = Main.getPrimaryStage();
-        stage.setWidth(800);
-        stage.setHeight(600);
-        rootPane.getChildren().clear();
+        stage.setWidth(WINDOW_WIDTH);
+        stage.setHeight(WINDOW_HEIGHT);
+        cashRegisterRectangles = new HashMap<>();
+        clientCircles = new HashMap<>();
+        cashierCircles = new HashMap<>();
+
+        List<Node> nodes = new ArrayList<>();
+        for (int registerId = 1; registerId <= registers; registerId++) {
+            Rectangle rectangle = createCashRegisterRectangle(registerId, nodes);
+            rectangle.setFill(registerColor(RegisterState.OPEN));
+            Circle cashierCircle = createCashierNode(rectangle);
+            nodes.add(cashierCircle);
+            cashierCircles.put(registerId, cashierCircle);
+        }
+        rootPane.getChildren().setAll(nodes);
+    }
+
+    private static double registerX(int registerId) {
+        return REGISTER_X_OFFSET + (REGISTER_WIDTH + REGISTER_SPACING) * (registerId - 1);
     }
 
     // Tworzenie prostokątów kas
-    private void createCashRegisterRectangle(int registerId) {
-        double rectangleWidth = 60;
-        double rectangleHeight = 30;
-        double spacing = 10;
-        double xOffset = 10;
-        double yOffset = 30;
-
-        Rectangle rectangle = new Rectangle(rectangleWidth, rectangleHeight, Color.LIGHTGRAY);
+    private Rectangle createCashRegisterRectangle(int registerId, List<Node> nodes) {
+        Rectangle rectangle = new Rectangle(REGISTER_WIDTH, REGISTER_HEIGHT, Color.LIGHTGRAY);
         rectangle.setStroke(Color.BLACK);
-        double x = xOffset + (rectangleWidth + spacing) * (registerId - 1);
+        double x = registerX(registerId);
         rectangle.setX(x);
-        rectangle.setY(yOffset);
+        rectangle.setY(REGISTER_Y_OFFSET);
 
         Text text = new Text("Kasa " + registerId);
         text.setX(x + 12);
-        text.setY(yOffset + 20);
-
-        Platform.runLater(() -> rootPane.getChildren().addAll(rectangle, text));
+        text.setY(REGISTER_Y_OFFSET + 20);
 
+        nodes.add(rectangle);
+        nodes.add(text);
         cashRegisterRectangles.put(registerId, rectangle);
+        return rectangle;
     }
 
-    // Tworzenie kółek kasjerów
-    private void createCashierCircle(int registerId) {
+    // Kółko kasjera nad prostokątem kasy
+    private static Circle createCashierNode(Rectangle rectangle) {
         double circleRadius = 10;
         double xOffset = 20;
         double yOffset = 15;
 
-        Rectangle rectangle = cashRegisterRectangles.get(registerId);
-        double x = rectangle.getX() + xOffset;
-        double y = rectangle.getY() - yOffset;
-
         Circle circle = new Circle(circleRadius, Color.GRAY);
         circle.setStroke(Color.BLACK);
-        circle.setCenterX(x);
-        circle.setCenterY(y);
+        circle.setCenterX(rectangle.getX() + xOffset);
+        circle.setCenterY(rectangle.getY() - yOffset);
+        return circle;
+    }
 
-        Platform.runLater(() -> rootPane.getChildren().add(circle));
-        cashierCircles.put(registerId, circle);
+    // Tworzenie kółek kasjerów
+    @Override
+    public void createCashierCircle(int registerId) {
+        Platform.runLater(() -> {
+            Rectangle rectangle = cashRegisterRectangles.get(registerId);
+            if (rectangle != null) {
+                Circle circle = createCashierNode(rectangle);
+                rootPane.getChildren().add(circle);
+                cashierCircles.put(registerId, circle);
+            }
+        });
     }
 
     // Usuwanie kółek kasjerów
+    @Override
     public void removeCashierCircle(int registerId) {
         Platform.runLater(() -> {
             Circle circle = cashierCircles.remove(registerId);
@@ -290,7 +338,9 @@ public class SupermarketController {
     }
 
     // Zmiana koloru prostokątów kas
-    public void updateCashRegisterColor(int registerId, Color color) {
+    @Override
+    public void updateCashRegisterState(int registerId, RegisterState state) {
+        Color color = registerColor(state);
         Platform.runLater(() -> {
             Rectangle rectangle = cashRegisterRectangles.get(registerId);
             if (rectangle != null) {
@@ -299,7 +349,22 @@ public class SupermarketController {
         });
     }
 
+    // Kolor prostokąta kasy w danym stanie
+    private static Color registerColor(RegisterState state) {
+        return switch (state) {
+            case OPEN -> Color.GREEN;
+            case CLOSING -> Color.ORANGE;
+            case BREAK_REQUESTED -> Color.YELLOW;
+            case CHANGE_REQUESTED -> Color.BLUE;
+            case ON_BREAK -> Color.RED;
+            case CHANGING -> Color.LIGHTBLUE;
+            case NO_MORE_CLIENTS -> Color.LIGHTGRAY;
+            case FINISHED -> Color.DIMGRAY;
+        };
+    }
+
     // Tworzenie kółek klientów
+    @Override
     public void createClientCircle(int clientId) {
         Platform.runLater(() -> {
             double circleRadius = 10;
@@ -317,8 +382,9 @@ public class SupermarketController {
     }
 
     // Przesuwanie klientów w kolejce
+    @Override
     public void shiftClientCirclesUp(int registerId) {
-        List<Integer> queueClientIds = monitor.getQueueClientIds(registerId);
+        List<Integer> queueClientIds = simulation.getMonitor().getQueueClientIds(registerId);
         for (int i = 0; i < queueClientIds.size(); i++) {
             int clientId = queueClientIds.get(i);
             moveClientToCashRegister(clientId, registerId);
@@ -326,30 +392,30 @@ public class SupermarketController {
     }
 
     // Przesuwanie klientów do kolejki
+    @Override
     public void moveClientToCashRegister(int clientId, int registerId) {
         Platform.runLater(() -> {
             Circle circle = clientCircles.get(clientId);
-            if (circle != null) {
-                Rectangle rectangle = cashRegisterRectangles.get(registerId);
-                if (rectangle != null) {
-                    List<Integer> queueClientIds = monitor.getQueueClientIds(registerId);
-                    int index = queueClientIds.indexOf(clientId);
-
-                    if (index != -1) {
-                        double targetX = rectangle.getX() + rectangle.getWidth() / 2 - circle.getCenterX();
-                        double targetY = rectangle.getY() + rectangle.getHeight() + circle.getRadius() * (3 * index + 0.5) - circle.getCenterY();
-
-                        TranslateTransition transition = new TranslateTransition(Duration.seconds(simulationTime), circle);
-                        transition.setToX(targetX);
-                        transition.setToY(targetY);
-                        transition.play();
-                    }
+            Rectangle rectangle = cashRegisterRectangles.get(registerId);
+            if (circle != null && rectangle != null) {
+                List<Integer> queueClientIds = simulation.getMonitor().getQueueClientIds(registerId);
+                int index = queueClientIds.indexOf(clientId);
+
+                if (index != -1) {
+                    double targetX = rectangle.getX() + rectangle.getWidth() / 2 - circle.getCenterX();
+                    double targetY = rectangle.getY() + rectangle.getHeight() + circle.getRadius() * (3 * index + 0.5) - circle.getCenterY();
+
+                    TranslateTransition transition = new TranslateTransition(Duration.seconds(simulation.getParameters().getSimulationTime()), circle);
+                    transition.setToX(targetX);
+                    transition.setToY(targetY);
+                    transition.play();
                 }
             }
         });
     }
 
     // Usuwanie kólek klientów
+    @Override
     public void removeClientCircle(int clientId) {
         Platform.runLater(() -> {
             Circle circle = clientCircles.remove(clientId);
@@ -360,7 +426,9 @@ public class SupermarketController {
     }
 
     // Zmiana koloru kółek klientów
-    public void updateClientCircleColor(int clientId, Color color) {
+    @Override
+    public void updateClientState(int clientId, ClientState state) {
+        Color color = state == ClientState.IN_SERVICE ? Color.GREEN : Color.BLACK;
         Platform.runLater(() -> {
             Circle circle = clientCircles.get(clientId);
             if (circle != null) {
@@ -369,45 +437,6 @@ public class SupermarketController {
         });
     }
 
-    // Zmiana kasjera
-    public void replaceCashier(int registerId) {
-        System.out.printf("Zmiana kasjera przy kasie %d.\n", registerId);
-
-        List<Integer> indexesToRemove = new ArrayList<>(); // Lista kasjerów do usunięcia
-
-        for (int i = 0; i < cashierThreads.size(); i++) {
-            Cashier cashier = cashiers.get(i);
-            if (cashier.getRegisterId() == registerId && cashierThreads.get(i).isAlive()) {
-                cashierThreads.get(i).interrupt(); // Przerwanie wątku kasjera
-                indexesToRemove.add(i);
-                System.out.printf("Zakończono wątek kasjera %d przy kasie %d.\n", cashier.getCashierId(), registerId);
-            }
-        }
-
-        // Usunięcie wątków kasjerów z listy
-        for (int index : indexesToRemove) {
-            cashierThreads.remove(index);
-            cashiers.remove(index);
-        }
-
-        // Tworzenie nowego kasjera
-        Cashier newCashier = new Cashier(registerId, registerId, monitor, cashierMinTime, cashierMaxTime, this);
-        Thread newCashierThread = new Thread(newCashier);
-        cashiers.add(newCashier);
-        cashierThreads.add(newCashierThread);
-        allCashiers++;
-        createCashierCircle(registerId);
-        newCashierThread.start();
-        System.out.printf("Do kasy %d przyszedł nowy kasjer.\n", registerId);
-
-        monitor.openRegister(registerId);
-        System.out.printf("Kasa %d została otwarta przez nowego kasjera.\n", registerId);
-    }
-
-    public int getSimulationTimeMillis() {
-        return simulationTime * 1000;
-    }
-
     // Wyświetlanie alertu
     private void showAlert(String message) {
         Alert alert = new Alert(AlertType.INFORMATION);
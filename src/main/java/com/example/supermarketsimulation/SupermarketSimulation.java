@@ -0,0 +1,364 @@
+package com.example.supermarketsimulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Rdzeń symulacji: monitor, wątki kasjerów i klientów (bez zależności od GUI)
+public class SupermarketSimulation {
+    private static final int ARRIVAL_STREAM = 1; // Strumienie losowe w trybie powtarzalnym
+    private static final int CASHIER_STREAM = 2;
+    private static final long PATIENCE_STEP_MILLIS = 1000; // Najdłuższy sen wątku pilnującego cierpliwości
+    private static final long EXCHANGE_RETRY_MILLIS = 1; // Odstęp prób zamknięcia skrzynki, gdy sąsiad wysyła klienta
+
+    private final SimulationParameters parameters;
+    private final SimulationView view;
+    private final SimulationClock clock;
+    private final CashRegistersMonitor monitor;
+    private final SimulationRandom arrivalRandom; // Losowanie odstępów między klientami
+    // Stan generatora przyjść po ostatnim przyjściu (zapisywany w punkcie kontrolnym): odstęp, na który czeka
+    // wątek tworzenia klientów, jest po odtworzeniu losowany jeszcze raz i wychodzi taki sam
+    private long arrivalCheckpointState;
+    private final Set<Thread> clientThreads = ConcurrentHashMap.newKeySet(); // Wątki klientów w drodze do kolejki
+    private final List<Thread> cashierThreads = new ArrayList<>(); // Lista wątków kasjerów
+    private final List<Cashier> cashiers = new ArrayList<>(); // Lista kasjerów
+    private final List<Cashier.State> restoredCashiers; // Kasjerzy odtworzeni z punktu kontrolnego
+    private final AtomicInteger liveThreads = new AtomicInteger(); // Działające wątki symulacji
+    private final CountDownLatch completion = new CountDownLatch(1);
+    private ClientExchange clientExchange; // Wymiana klientów z innymi sklepami (opcjonalna)
+    private int allCashiers; // Całkowita liczba kasjerów
+    private int transferredClients; // Klienci przyjęci z innych sklepów
+    private volatile boolean stopped;
+    private Thread clientCreationThread; // Wątek do tworzenia klientów
+    private Thread patienceThread; // Wątek pilnujący cierpliwości czekających klientów
+
+    public SupermarketSimulation(SimulationParameters parameters, SimulationView view) {
+        this(parameters, view, new RealTimeClock(0));
+    }
+
+    public SupermarketSimulation(SimulationParameters parameters, SimulationView view, SimulationClock clock) {
+        this.parameters = parameters;
+        this.view = view;
+        this.clock = clock;
+        this.monitor = new CashRegistersMonitor(parameters.getRegisters(), parameters.getClients(),
+                parameters.getClientBehavior(), view, clock);
+        this.arrivalRandom = parameters.isSeeded()
+                ? SimulationRandom.forStream(parameters.getSeed(), ARRIVAL_STREAM, 0)
+                : SimulationRandom.unseeded();
+        this.arrivalCheckpointState = arrivalRandom.getState();
+        this.restoredCashiers = null;
+        this.allCashiers = 0;
+    }
+
+    // Odtworzenie symulacji z punktu kontrolnego
+    public SupermarketSimulation(SimulationSnapshot snapshot, SimulationView view) {
+        this(snapshot, view, new RealTimeClock(snapshot.getElapsedMillis()));
+    }
+
+    // Odtworzenie z własnym zegarem (np. new VirtualClock(snapshot.getElapsedMillis()) w trybie bez GUI)
+    public SupermarketSimulation(SimulationSnapshot snapshot, SimulationView view, SimulationClock clock) {
+        this.parameters = snapshot.getParameters();
+        this.view = view;
+        this.clock = clock;
+        this.monitor = new CashRegistersMonitor(snapshot.getMonitorState(), parameters.getClientBehavior(), view,
+                clock);
+        this.arrivalRandom = new SimulationRandom(snapshot.getArrivalRandomState());
+        this.arrivalCheckpointState = snapshot.getArrivalRandomState();
+        this.restoredCashiers = snapshot.getCashierStates();
+        this.allCashiers = snapshot.getAllCashiers();
+    }
+
+    // Dodanie odbiorcy zdarzeń (przed startem symulacji)
+    public void addListener(SimulationListener listener) {
+        monitor.addListener(listener);
+    }
+
+    // Podłączenie wymiany klientów z innymi sklepami (przed startem symulacji)
+    public void setClientExchange(ClientExchange clientExchange) {
+        this.clientExchange = clientExchange;
+    }
+
+    public void start() {
+        // Licznik obejmuje wątek tworzenia klientów, więc nie spadnie do zera przed końcem przyjść
+        liveThreads.incrementAndGet();
+        if (restoredCashiers == null) {
+            for (int i = 0; i < parameters.getRegisters(); i++) {
+                allCashiers++;
+                startCashier(new Cashier(i + 1, i + 1, monitor, parameters.getCashierMinTime(),
+                        parameters.getCashierMaxTime(), this, newCashierRandom()));
+            }
+        } else {
+            restoreView();
+            for (Cashier.State state : restoredCashiers) {
+                startCashier(new Cashier(state, monitor, parameters.getCashierMinTime(),
+                        parameters.getCashierMaxTime(), this));
+            }
+        }
+
+        // Wątek do tworzenia klientów
+        clientCreationThread = clock.newThread(() -> {
+            try {
+                createClients();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                threadFinished();
+            }
+        });
+        clientCreationThread.start();
+
+        if (parameters.getClientBehavior().isReneging()) {
+            patienceThread = newSimulationThread(this::watchPatience);
+            patienceThread.start();
+        }
+    }
+
+    // Jeden wątek dla wszystkich czekających klientów: śpi do najbliższego terminu utraty cierpliwości, ale nie dłużej
+    // niż krok (nie dłuższy od cierpliwości, więc nowy klient nie straci jej niezauważony), żeby po obsłużeniu
+    // wszystkich czekających nie opóźniać końca symulacji
+    private void watchPatience() {
+        long step = Math.min(parameters.getClientBehavior().patienceMillis(), PATIENCE_STEP_MILLIS);
+        try {
+            long nextDeadline;
+            while ((nextDeadline = monitor.expireImpatientClients()) != CashRegistersMonitor.PATIENCE_FINISHED) {
+                if (nextDeadline == CashRegistersMonitor.NO_WAITING_CLIENTS) {
+                    clock.sleep(step);
+                } else {
+                    clock.sleep(Math.max(1, Math.min(step, nextDeadline - clock.now())));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void createClients() throws InterruptedException {
+        // Klienci, którzy przed zapisem punktu kontrolnego byli w drodze do kolejki
+        for (int clientId : monitor.captureState().pendingArrivals()) {
+            startClient(clientId);
+        }
+
+        if (clientExchange != null) {
+            monitor.adjustExpectedClients(1); // Kasjerzy czekają, dopóki sklep przyjmuje klientów z innych sklepów
+        }
+
+        // Tworzenie klientów
+        for (int i = monitor.getAnnouncedClients(); i < parameters.getClients(); i++) {
+            clock.sleep(arrivalRandom.nextInt(parameters.getClientMinTime(), parameters.getClientMaxTime()));
+            if (clientExchange != null) {
+                admitTransferredClients();
+                int shortestQueue = monitor.shortestQueueLength();
+                clientExchange.publishLoad(shortestQueue);
+                if (clientExchange.tryTransferOut(shortestQueue)) {
+                    synchronized (this) {
+                        monitor.divertClient();
+                        arrivalCheckpointState = arrivalRandom.getState();
+                    }
+                    continue;
+                }
+            }
+            // Przyjście i stan generatora razem (zrzut stanu też blokuje symulację)
+            synchronized (this) {
+                monitor.announceClient(i + 1);
+                arrivalCheckpointState = arrivalRandom.getState();
+            }
+            startClient(i + 1);
+        }
+
+        if (clientExchange != null) {
+            // Sąsiad mógł zarezerwować miejsce i jeszcze nie wysłać klienta: czekanie w czasie symulacji,
+            // żeby zegar (i wątek sterujący shardu) mógł w tym czasie wykonywać inne zdarzenia
+            admitTransferredClients();
+            while (!clientExchange.tryClose()) {
+                clock.sleep(EXCHANGE_RETRY_MILLIS);
+                admitTransferredClients();
+            }
+            monitor.adjustExpectedClients(-1);
+        }
+    }
+
+    // Przyjęcie klientów przekazanych z innych sklepów (numerowani dalej po klientach tego sklepu)
+    private void admitTransferredClients() {
+        for (int received = clientExchange.drainIncoming(); received > 0; received--) {
+            transferredClients++;
+            int clientId = parameters.getClients() + transferredClients;
+            monitor.admitTransferredClient(clientId);
+            startClient(clientId);
+        }
+    }
+
+    // Generator dla kolejnego kasjera (w trybie powtarzalnym zależy od ziarna i numeru kasjera)
+    private SimulationRandom newCashierRandom() {
+        return parameters.isSeeded()
+                ? SimulationRandom.forStream(parameters.getSeed(), CASHIER_STREAM, allCashiers)
+                : SimulationRandom.unseeded();
+    }
+
+    // Odtworzenie widoku kolejek po wczytaniu punktu kontrolnego
+    private void restoreView() {
+        CashRegistersMonitor.State state = monitor.captureState();
+        for (int i = 0; i < state.queues().length; i++) {
+            view.updateCashRegisterState(i + 1, state.openStatus()[i] ? RegisterState.OPEN : RegisterState.CLOSING);
+            for (int clientId : state.queues()[i]) {
+                view.createClientCircle(clientId);
+                view.moveClientToCashRegister(clientId, i + 1);
+            }
+        }
+    }
+
+    private void startClient(int clientId) {
+        Client client = new Client(clientId, monitor);
+        Thread clientThread = newSimulationThread(() -> {
+            try {
+                client.run();
+            } finally {
+                clientThreads.remove(Thread.currentThread());
+            }
+        });
+        clientThreads.add(clientThread);
+        clientThread.start();
+    }
+
+    private synchronized void startCashier(Cashier cashier) {
+        Thread cashierThread = newSimulationThread(cashier);
+        cashiers.add(cashier);
+        cashierThreads.add(cashierThread);
+        cashierThread.start();
+    }
+
+    // Wątek symulacji wliczany do licznika działających wątków
+    private Thread newSimulationThread(Runnable task) {
+        liveThreads.incrementAndGet();
+        return clock.newThread(() -> {
+            try {
+                task.run();
+            } finally {
+                threadFinished();
+            }
+        });
+    }
+
+    // Ostatni kończący się wątek kończy symulację
+    private void threadFinished() {
+        if (liveThreads.decrementAndGet() == 0 && !stopped) {
+            view.simulationFinished(getAllCashiers());
+            view.log("Wszyscy klienci zostali obsłużeni. Program kończy działanie.\n");
+            completion.countDown();
+        }
+    }
+
+    // Start i wykonanie całej symulacji w bieżącym wątku; z VirtualClock przebieg jest powtarzalny
+    // (ten sam zestaw parametrów z ziarnem daje te same zdarzenia i wyniki)
+    public void runToCompletion() throws InterruptedException {
+        start();
+        if (clock instanceof VirtualClock virtualClock) {
+            virtualClock.run();
+        }
+        awaitCompletion();
+    }
+
+    // Oczekiwanie na koniec symulacji (z wątku spoza symulacji)
+    public void awaitCompletion() throws InterruptedException {
+        completion.await();
+    }
+
+    // Oczekiwanie z limitem czasu; false, jeśli symulacja nie skończyła się w tym czasie
+    public boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+        return completion.await(timeout, unit);
+    }
+
+    // Stop symulacji
+    public void stop() {
+        stopped = true;
+        if (clientCreationThread != null && clientCreationThread.isAlive()) {
+            clientCreationThread.interrupt();
+        }
+        if (patienceThread != null && patienceThread.isAlive()) {
+            patienceThread.interrupt();
+        }
+        for (Thread clientThread : clientThreads) {
+            if (clientThread.isAlive()) {
+                clientThread.interrupt();
+            }
+        }
+        synchronized (this) {
+            for (Thread cashierThread : cashierThreads) {
+                if (cashierThread.isAlive()) {
+                    cashierThread.interrupt();
+                }
+            }
+        }
+        completion.countDown();
+    }
+
+    // Zmiana kasjera
+    public synchronized void replaceCashier(int registerId) {
+        view.log("Zmiana kasjera przy kasie %d.\n", registerId);
+
+        // Przerwanie i usunięcie wątków kasjerów tej kasy (od końca, żeby nie przesuwać jeszcze nieodwiedzonych indeksów)
+        for (int i = cashierThreads.size() - 1; i >= 0; i--) {
+            Cashier cashier = cashiers.get(i);
+            if (cashier.getRegisterId() == registerId && cashierThreads.get(i).isAlive()) {
+                cashierThreads.get(i).interrupt(); // Przerwanie wątku kasjera
+                cashierThreads.remove(i);
+                cashiers.remove(i);
+                view.log("Zakończono wątek kasjera %d przy kasie %d.\n", cashier.getCashierId(), registerId);
+            }
+        }
+
+        // Tworzenie nowego kasjera
+        allCashiers++;
+        Cashier newCashier = new Cashier(registerId, registerId, monitor, parameters.getCashierMinTime(),
+                parameters.getCashierMaxTime(), this, newCashierRandom());
+        view.createCashierCircle(registerId);
+        startCashier(newCashier);
+        view.log("Do kasy %d przyszedł nowy kasjer.\n", registerId);
+
+        monitor.openRegister(registerId);
+        view.log("Kasa %d została otwarta przez nowego kasjera.\n", registerId);
+    }
+
+    // Spójny zrzut stanu symulacji
+    public synchronized SimulationSnapshot snapshot() {
+        return monitor.withGlobalLock(() -> {
+            List<Cashier.State> cashierStates = new ArrayList<>(cashiers.size());
+            for (Cashier cashier : cashiers) {
+                cashierStates.add(cashier.captureState());
+            }
+            return new SimulationSnapshot(parameters, clock.now(), allCashiers, arrivalCheckpointState,
+                    monitor.captureState(), cashierStates);
+        });
+    }
+
+    public int getSimulationTimeMillis() {
+        return parameters.getSimulationTime() * 1000;
+    }
+
+    public SimulationParameters getParameters() {
+        return parameters;
+    }
+
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    public SimulationView getView() {
+        return view;
+    }
+
+    public CashRegistersMonitor getMonitor() {
+        return monitor;
+    }
+
+    public synchronized int getAllCashiers() {
+        return allCashiers;
+    }
+
+    public int getTransferredClients() {
+        return transferredClients;
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.supermarketsimulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Semaphore;
+
+// Zegar czasu wirtualnego: wątki symulacji działają po kolei (jeden naraz), a czas przeskakuje
+// od zdarzenia do zdarzenia. Kolejnością steruje wątek wywołujący run/runUntil.
+public class VirtualClock implements SimulationClock {
+    private final PriorityQueue<Wakeup> timeline = new PriorityQueue<>(); // Zaplanowane wybudzenia
+    private final List<Entity> idle = new ArrayList<>(); // Wątki czekające na zmianę stanu
+    private final Semaphore driverPermit = new Semaphore(0); // Zwalniany, gdy wątek symulacji oddaje sterowanie
+    private final ThreadLocal<Entity> current = new ThreadLocal<>();
+    private volatile long now;
+    private long sequence; // Kolejność wybudzeń o tym samym czasie
+    private int liveEntities;
+    private boolean stalled; // Wszystkie wątki czekały bez żadnego zaplanowanego zdarzenia
+
+    private static final class Entity {
+        private final Semaphore permit = new Semaphore(0);
+        private Thread thread;
+    }
+
+    private record Wakeup(long time, long sequence, Entity entity, boolean fromIdle) implements Comparable<Wakeup> {
+        @Override
+        public int compareTo(Wakeup other) {
+            int byTime = Long.compare(time, other.time);
+            return byTime != 0 ? byTime : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    public VirtualClock() {
+        this(0);
+    }
+
+    public VirtualClock(long startMillis) {
+        this.now = startMillis;
+    }
+
+    @Override
+    public long now() {
+        return now;
+    }
+
+    @Override
+    public void sleep(long millis) throws InterruptedException {
+        Entity entity = currentEntity();
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        synchronized (this) {
+            schedule(entity, now + Math.max(0, millis), false);
+        }
+        yieldControl(entity);
+    }
+
+    @Override
+    public void idle() throws InterruptedException {
+        Entity entity = currentEntity();
+        synchronized (this) {
+            idle.add(entity);
+        }
+        yieldControl(entity);
+    }
+
+    @Override
+    public Thread newThread(Runnable task) {
+        Entity entity = new Entity();
+        entity.thread = Thread.ofVirtual().unstarted(() -> {
+            entity.permit.acquireUninterruptibly();
+            current.set(entity);
+            try {
+                task.run();
+            } finally {
+                synchronized (this) {
+                    liveEntities--;
+                }
+                driverPermit.release();
+            }
+        });
+        synchronized (this) {
+            liveEntities++;
+            schedule(entity, now, false);
+        }
+        return entity.thread;
+    }
+
+    // Wykonanie wszystkich zdarzeń do końca symulacji
+    public void run() {
+        runUntil(Long.MAX_VALUE);
+    }
+
+    // Wykonanie zdarzeń do podanej chwili; false - symulacja się skończyła
+    public boolean runUntil(long horizon) {
+        while (true) {
+            Wakeup next;
+            synchronized (this) {
+                next = timeline.peek();
+                if (next == null) {
+                    if (!idle.isEmpty()) {
+                        stalled = true;
+                        wakeIdleWithInterrupt();
+                        continue;
+                    }
+                    return false;
+                }
+                if (next.time() > horizon) {
+                    return true;
+                }
+                timeline.poll();
+                now = next.time();
+            }
+            dispatch(next.entity());
+            if (!next.fromIdle()) {
+                synchronized (this) {
+                    for (Entity entity : idle) {
+                        schedule(entity, now, true);
+                    }
+                    idle.clear();
+                }
+            }
+        }
+    }
+
+    public synchronized boolean isStalled() {
+        return stalled;
+    }
+
+    public synchronized int getLiveEntities() {
+        return liveEntities;
+    }
+
+    // Nikt nie obudzi czekających wątków - przerwanie ich, żeby mogły się zakończyć
+    private void wakeIdleWithInterrupt() {
+        for (Entity entity : idle) {
+            entity.thread.interrupt();
+            schedule(entity, now, true);
+        }
+        idle.clear();
+    }
+
+    private void schedule(Entity entity, long time, boolean fromIdle) {
+        timeline.add(new Wakeup(time, sequence++, entity, fromIdle));
+    }
+
+    private void dispatch(Entity entity) {
+        entity.permit.release();
+        driverPermit.acquireUninterruptibly();
+    }
+
+    private void yieldControl(Entity entity) throws InterruptedException {
+        driverPermit.release();
+        entity.permit.acquireUninterruptibly();
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    private Entity currentEntity() {
+        Entity entity = current.get();
+        if (entity == null) {
+            throw new IllegalStateException("Wątek nie należy do tego zegara symulacji");
+        }
+        return entity;
+    }
+}
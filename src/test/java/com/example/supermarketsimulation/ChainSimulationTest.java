@@ -0,0 +1,91 @@
+package com.example.supermarketsimulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ChainSimulationTest {
+    private static final int STORES = 8;
+    private static final int CLIENTS = 80;
+
+    // Każdy klient sieci został obsłużony albo odszedł dokładnie raz, żaden sklep nie utknął
+    private static void assertAllClientsAccounted(ChainResult result) {
+        long served = 0;
+        for (SimulationMetrics metrics : result.getStoreMetrics()) {
+            served += metrics.getClients();
+        }
+        assertEquals(0, result.getStalledStores());
+        assertEquals(served, result.getChainMetrics().getClients());
+        assertEquals((long) STORES * CLIENTS, served + result.getLeftClients());
+        assertEquals(result.getTransfers(), result.getReceivedTransfers());
+    }
+
+    // Wyniki sieci to połączone wyniki sklepów
+    private static void assertMergedMetrics(ChainResult result) {
+        SimulationMetrics chain = result.getChainMetrics();
+        List<SimulationMetrics> stores = result.getStoreMetrics();
+        SimulationMetrics merged = new SimulationMetrics();
+        long maxWait = 0;
+        double totalWait = 0;
+        for (SimulationMetrics store : stores) {
+            merged.merge(store);
+            maxWait = Math.max(maxWait, store.getMaxWait());
+            totalWait += store.getMeanWait() * store.getClients();
+        }
+        assertEquals(maxWait, chain.getMaxWait());
+        assertEquals(totalWait / chain.getClients(), chain.getMeanWait(), 1e-6);
+        for (double percentile : new double[] {1, 25, 50, 90, 95, 99, 100}) {
+            long value = chain.getWaitPercentile(percentile);
+            assertEquals(merged.getWaitPercentile(percentile), value);
+            // Percentyl sumy rozkładów nie jest mniejszy niż najmniejszy percentyl sklepów (z góry ogranicza go
+            // tylko maksimum sieci, bo wartość kubełka jest przycinana do maksimum własnego zbioru)
+            long min = Long.MAX_VALUE;
+            for (SimulationMetrics store : stores) {
+                min = Math.min(min, store.getWaitPercentile(percentile));
+            }
+            assertTrue(min <= value && value <= maxWait, "p" + percentile);
+        }
+    }
+
+    @Test
+    void storesWithoutOverflowServeAllClients() throws InterruptedException {
+        SimulationParameters parameters = SimulationParameters.defaults(CLIENTS, 3).withSeed(21);
+        ChainResult result = new ChainSimulation(STORES, parameters, 3, 0).run();
+        assertAllClientsAccounted(result);
+        assertEquals(0, result.getTransfers());
+        assertEquals(0, result.getLeftClients());
+        assertMergedMetrics(result);
+    }
+
+    @Test
+    void transferredClientsAreCountedOnce() throws InterruptedException {
+        SimulationParameters parameters = SimulationParameters.defaults(CLIENTS, 2).withSeed(5);
+        int transfers = 0;
+        for (int run = 0; run < 5; run++) {
+            ChainResult result = new ChainSimulation(STORES, parameters, 3, 1, 500).run();
+            assertAllClientsAccounted(result);
+            assertMergedMetrics(result);
+            transfers += result.getTransfers();
+        }
+        assertTrue(transfers > 0);
+    }
+
+    @Test
+    void clientsWhoLeaveAreCountedOnce() throws InterruptedException {
+        SimulationParameters parameters = SimulationParameters.defaults(CLIENTS, 2).withSeed(8)
+                .withClientBehavior(new ClientBehavior(5, 20_000, 1));
+        ChainResult result = new ChainSimulation(STORES, parameters, 4, 2).run();
+        assertAllClientsAccounted(result);
+        assertTrue(result.getLeftClients() > 0);
+        assertMergedMetrics(result);
+    }
+
+    @Test
+    void singleWorkerRunsAllStores() throws InterruptedException {
+        ChainResult result = new ChainSimulation(STORES, SimulationParameters.defaults(CLIENTS, 3), 1, 2).run();
+        assertAllClientsAccounted(result);
+        assertEquals(1, result.getWorkers());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.supermarketsimulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ClientRecordCollectorTest {
+
+    // Rekordy zapisane w pamięci
+    private static class ListWriter implements ClientRecordWriter {
+        final List<ClientRecord> records = new ArrayList<>();
+        boolean closed;
+
+        @Override
+        public void write(ClientRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Test
+    void recordsDescribeServedClients() throws IOException {
+        ListWriter writer = new ListWriter();
+        try (ClientRecordCollector collector = new ClientRecordCollector(List.of(writer))) {
+            collector.clientEntered(1000, 1, 1, 0);
+            collector.clientEntered(1500, 2, 2, 3);
+            collector.clientEntered(1800, 3, 1, 1);
+            collector.clientBalked(1900, 4, 5);
+            collector.serviceStarted(1000, 1, 1, 7);
+            // Klient 2 przechodzi do kasy 3 - rekord opisuje kolejkę, w której został obsłużony
+            collector.clientJockeyed(2500, 2, 2, 3, 1);
+            collector.serviceFinished(6000, 1, 1, 7);
+            collector.clientReneged(7000, 3, 1);
+            collector.serviceStarted(8000, 2, 3, 9);
+            collector.serviceFinished(12_500, 2, 3, 9);
+        }
+        assertTrue(writer.closed);
+        assertEquals(List.of(new ClientRecord(1, 1000, 1, 0, 1000, 6000, 7),
+                new ClientRecord(2, 1500, 3, 1, 8000, 12_500, 9)), writer.records);
+        ClientRecord jockeyed = writer.records.get(1);
+        assertEquals(6500, jockeyed.serviceStart() - jockeyed.arrivalTime()); // Czas oczekiwania
+        assertEquals(4500, jockeyed.serviceEnd() - jockeyed.serviceStart()); // Czas obsługi
+    }
+
+    @Test
+    void clientQueuedBeforeResumeHasUnknownFields() throws IOException {
+        ListWriter writer = new ListWriter();
+        try (ClientRecordCollector collector = new ClientRecordCollector(List.of(writer))) {
+            collector.serviceStarted(60_000, 5, 2, 4);
+            collector.serviceFinished(64_000, 5, 2, 4);
+            collector.serviceFinished(65_000, 6, 1, 3);
+        }
+        assertEquals(List.of(new ClientRecord(5, -1, 2, -1, 60_000, 64_000, 4),
+                new ClientRecord(6, -1, 1, -1, -1, 65_000, 3)), writer.records);
+    }
+
+    @Test
+    void simulationRecordsEveryServedClientOnce() throws IOException, InterruptedException {
+        ListWriter writer = new ListWriter();
+        SupermarketSimulation simulation = new SupermarketSimulation(SimulationParameters.defaults(150, 3)
+                .withSeed(4).withClientBehavior(new ClientBehavior(4, 30_000, 1)), SimulationView.SILENT,
+                new VirtualClock());
+        try (ClientRecordCollector collector = new ClientRecordCollector(List.of(writer))) {
+            simulation.addListener(collector);
+            simulation.runToCompletion();
+        }
+        for (ClientRecord record : writer.records) {
+            assertTrue(record.arrivalTime() <= record.serviceStart(), "klient " + record.clientId());
+            assertTrue(record.serviceStart() < record.serviceEnd(), "klient " + record.clientId());
+        }
+        assertEquals(writer.records.stream().map(ClientRecord::clientId).distinct().count(), writer.records.size());
+        CashRegistersMonitor monitor = simulation.getMonitor();
+        assertEquals(150, writer.records.size() + monitor.getBalkedClients() + monitor.getRenegedClients());
+    }
+
+    @Test
+    void firstWriteErrorIsReportedOnClose() {
+        ListWriter writer = new ListWriter();
+        ClientRecordWriter failing = new ClientRecordWriter() {
+            @Override
+            public void write(ClientRecord record) throws IOException {
+                throw new IOException("dysk pełny");
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        ClientRecordCollector collector = new ClientRecordCollector(List.of(failing, writer));
+        collector.serviceFinished(5000, 1, 1, 1);
+        collector.serviceFinished(6000, 2, 1, 1);
+        IOException error = assertThrows(IOException.class, collector::close);
+        assertEquals("dysk pełny", error.getMessage());
+        assertTrue(writer.records.isEmpty());
+        assertTrue(writer.closed);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.supermarketsimulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ColumnarClientRecordWriterTest {
+
+    // Rekordy z kilku bloków: obsłużeni, bez obsługi (-1) i przyjścia nie po kolei (ujemne różnice)
+    private static List<ClientRecord> records(int count) {
+        Random random = new Random(11);
+        List<ClientRecord> records = new ArrayList<>(count);
+        long arrival = 0;
+        for (int i = 1; i <= count; i++) {
+            arrival += random.nextInt(4000) - 500;
+            if (i % 7 == 0) {
+                records.add(new ClientRecord(i, arrival, -1, -1, -1, -1, -1));
+            } else {
+                long start = arrival + random.nextInt(60_000);
+                records.add(new ClientRecord(i, arrival, 1 + random.nextInt(5), random.nextInt(20), start,
+                        start + 5000 + random.nextInt(1000), 1 + random.nextInt(40)));
+            }
+        }
+        return records;
+    }
+
+    private static List<ClientRecord> read(Path file) throws IOException {
+        List<ClientRecord> records = new ArrayList<>();
+        ColumnarClientRecordWriter.read(file, records::add);
+        return records;
+    }
+
+    @Test
+    void writtenRecordsAreReadBack(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("klienci.smcr");
+        List<ClientRecord> records = records(1000);
+        try (ColumnarClientRecordWriter writer = new ColumnarClientRecordWriter(file, 64)) {
+            for (ClientRecord record : records) {
+                writer.write(record);
+            }
+        }
+        assertEquals(records, read(file));
+    }
+
+    @Test
+    void emptyFileHasNoRecords(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("klienci.smcr");
+        new ColumnarClientRecordWriter(file).close();
+        assertEquals(List.of(), read(file));
+    }
+
+    @Test
+    void otherFileIsRejected(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("klienci.csv");
+        Files.writeString(file, "clientId,arrivalTime\n1,0\n");
+        assertThrows(IOException.class, () -> read(file));
+    }
+
+    @Test
+    void asyncWriterKeepsOrder(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("klienci.smcr");
+        List<ClientRecord> records = records(5000);
+        try (AsyncClientRecordWriter writer = new AsyncClientRecordWriter(
+                List.of(new ColumnarClientRecordWriter(file, 256)), 16)) {
+            for (ClientRecord record : records) {
+                writer.write(record);
+            }
+        }
+        assertEquals(records, read(file));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.supermarketsimulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class CsvClientRecordWriterTest {
+    private static final String HEADER =
+            "client_id,arrival_time,register_id,queue_length_at_arrival,service_start,service_end,cashier_id";
+
+    // Kolumny są liczbowe, więc pola nie wymagają cudzysłowów - wystarczy podział po przecinkach
+    private static List<ClientRecord> parse(List<String> rows) {
+        List<ClientRecord> records = new ArrayList<>(rows.size());
+        for (String row : rows) {
+            String[] fields = row.split(",", -1);
+            assertEquals(7, fields.length, row);
+            records.add(new ClientRecord(Integer.parseInt(fields[0]), Long.parseLong(fields[1]),
+                    Integer.parseInt(fields[2]), Integer.parseInt(fields[3]), Long.parseLong(fields[4]),
+                    Long.parseLong(fields[5]), Integer.parseInt(fields[6])));
+        }
+        return records;
+    }
+
+    @Test
+    void writtenRowsAreReadBack(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("klienci.csv");
+        List<ClientRecord> records = new ArrayList<>();
+        records.add(new ClientRecord(0, 0, 0, 0, 0, 0, 0));
+        records.add(new ClientRecord(1, -1, 2, -1, -1, 5000, 3)); // Nieznane pola po wznowieniu
+        records.add(new ClientRecord(Integer.MAX_VALUE, Long.MAX_VALUE, Integer.MIN_VALUE, 7, Long.MIN_VALUE,
+                Long.MAX_VALUE, Integer.MAX_VALUE));
+        // Więcej wierszy, niż mieści bufor zapisu
+        for (int i = 2; i < 10_000; i++) {
+            records.add(new ClientRecord(i, i * 1000L, 1 + i % 5, i % 13, i * 1000L + 250, i * 1000L + 5250,
+                    1 + i % 40));
+        }
+        try (CsvClientRecordWriter writer = new CsvClientRecordWriter(file)) {
+            for (ClientRecord record : records) {
+                writer.write(record);
+            }
+        }
+        List<String> lines = Files.readAllLines(file, StandardCharsets.US_ASCII);
+        assertEquals(HEADER, lines.get(0));
+        assertEquals("1,-1,2,-1,-1,5000,3", lines.get(2));
+        assertEquals(records, parse(lines.subList(1, lines.size())));
+    }
+
+    @Test
+    void emptyFileHasOnlyHeader(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("klienci.csv");
+        Files.writeString(file, "stara zawartość, dłuższa niż nagłówek".repeat(10));
+        new CsvClientRecordWriter(file).close();
+        assertEquals(HEADER + "\n", Files.readString(file, StandardCharsets.US_ASCII));
+    }
+}
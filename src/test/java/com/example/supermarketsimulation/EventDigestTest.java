@@ -0,0 +1,45 @@
+package com.example.supermarketsimulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class EventDigestTest {
+
+    private static EventDigest run(SimulationParameters parameters) throws InterruptedException {
+        SupermarketSimulation simulation = new SupermarketSimulation(parameters, SimulationView.SILENT,
+                new VirtualClock());
+        EventDigest digest = new EventDigest();
+        simulation.addListener(digest);
+        simulation.runToCompletion();
+        return digest;
+    }
+
+    @Test
+    void seededRunsHaveEqualDigests() throws InterruptedException {
+        SimulationParameters parameters = SimulationParameters.defaults(200, 4).withSeed(7);
+        EventDigest first = run(parameters);
+        EventDigest second = run(parameters);
+        assertTrue(first.getEvents() > 0);
+        assertEquals(first.getEvents(), second.getEvents());
+        assertEquals(first.getDigest(), second.getDigest());
+    }
+
+    @Test
+    void seededRunsWithClientBehaviorHaveEqualDigests() throws InterruptedException {
+        SimulationParameters parameters = SimulationParameters.defaults(300, 3).withSeed(3)
+                .withClientBehavior(new ClientBehavior(5, 30_000, 1));
+        EventDigest first = run(parameters);
+        EventDigest second = run(parameters);
+        assertEquals(first.getEvents(), second.getEvents());
+        assertEquals(first.getDigest(), second.getDigest());
+    }
+
+    @Test
+    void differentSeedsHaveDifferentDigests() throws InterruptedException {
+        assertNotEquals(run(SimulationParameters.defaults(200, 4).withSeed(7)).getDigest(),
+                run(SimulationParameters.defaults(200, 4).withSeed(8)).getDigest());
+    }
+}
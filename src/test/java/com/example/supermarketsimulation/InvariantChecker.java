@@ -0,0 +1,198 @@
+package com.example.supermarketsimulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+// Sprawdzanie poprawności przebiegu symulacji na podstawie zdarzeń monitora:
+// każdy klient jest obsłużony dokładnie raz albo raz rezygnuje lub odchodzi z kolejki przed obsługą,
+// przy kasie obsługuje naraz jeden kasjer, a przerwa lub zmiana trwa naraz tylko w jednej kasie.
+class InvariantChecker implements SimulationListener {
+    private static final int MAX_VIOLATIONS = 20;
+
+    private final BitSet entered = new BitSet();
+    private final BitSet started = new BitSet();
+    private final BitSet finished = new BitSet();
+    private final BitSet left = new BitSet(); // Klienci, którzy zrezygnowali lub odeszli z kolejki
+    private final int[] servingClient; // Klient obsługiwany w danej kasie (0 - nikt)
+    private final boolean[] closed;
+    private final List<String> violations = new ArrayList<>();
+    private int closedRegisters;
+    private int activeOperation; // Kasa, w której trwa przerwa lub zmiana (0 - brak)
+    private int cashierChanges;
+    private int finishedClients;
+    private int leftClients;
+    private int[] clientRegisters = new int[64]; // Kasa, w której kolejce stoi klient (powiększana w miarę potrzeby)
+
+    public InvariantChecker(int registerCount) {
+        servingClient = new int[registerCount + 1];
+        closed = new boolean[registerCount + 1];
+    }
+
+    private void violation(String format, Object... args) {
+        if (violations.size() < MAX_VIOLATIONS) {
+            violations.add(String.format(format, args));
+        }
+    }
+
+    private void setRegister(int clientId, int registerId) {
+        if (clientId >= clientRegisters.length) {
+            clientRegisters = Arrays.copyOf(clientRegisters, Math.max(clientId + 1, clientRegisters.length * 2));
+        }
+        clientRegisters[clientId] = registerId;
+    }
+
+    @Override
+    public synchronized void clientEntered(long time, int clientId, int registerId, int queueLength) {
+        if (entered.get(clientId)) {
+            violation("Klient %d wszedł do kolejki drugi raz (kasa %d)", clientId, registerId);
+        }
+        if (closed[registerId]) {
+            violation("Klient %d wszedł do kolejki zamkniętej kasy %d", clientId, registerId);
+        }
+        entered.set(clientId);
+        setRegister(clientId, registerId);
+    }
+
+    @Override
+    public synchronized void clientBalked(long time, int clientId, int queueLength) {
+        if (entered.get(clientId) || left.get(clientId)) {
+            violation("Klient %d zrezygnował po wejściu do kolejki lub drugi raz", clientId);
+        }
+        left.set(clientId);
+        leftClients++;
+    }
+
+    @Override
+    public synchronized void clientReneged(long time, int clientId, int registerId) {
+        if (!entered.get(clientId) || started.get(clientId) || left.get(clientId)) {
+            violation("Klient %d odszedł z kolejki bez wejścia do niej, po rozpoczęciu obsługi lub drugi raz", clientId);
+        } else if (clientRegisters[clientId] != registerId) {
+            violation("Klient %d odszedł z kolejki do kasy %d, a stał w kolejce do kasy %d", clientId, registerId,
+                    clientRegisters[clientId]);
+        }
+        left.set(clientId);
+        leftClients++;
+    }
+
+    @Override
+    public synchronized void clientJockeyed(long time, int clientId, int fromRegisterId, int toRegisterId,
+                                            int queueLength) {
+        if (!entered.get(clientId) || started.get(clientId) || left.get(clientId)) {
+            violation("Klient %d zmienił kolejkę bez wejścia do niej, po rozpoczęciu obsługi lub po odejściu", clientId);
+        } else if (clientRegisters[clientId] != fromRegisterId) {
+            violation("Klient %d przeszedł z kolejki do kasy %d, a stał w kolejce do kasy %d", clientId,
+                    fromRegisterId, clientRegisters[clientId]);
+        }
+        if (closed[toRegisterId]) {
+            violation("Klient %d przeszedł do kolejki zamkniętej kasy %d", clientId, toRegisterId);
+        }
+        setRegister(clientId, toRegisterId);
+    }
+
+    @Override
+    public synchronized void serviceStarted(long time, int clientId, int registerId, int cashierId) {
+        if (left.get(clientId)) {
+            violation("Obsługa klienta %d, który odszedł z kolejki", clientId);
+        }
+        if (!entered.get(clientId)) {
+            violation("Obsługa klienta %d rozpoczęta bez wejścia do kolejki", clientId);
+        } else if (clientRegisters[clientId] != registerId) {
+            violation("Klient %d obsłużony w kasie %d, a stał w kolejce do kasy %d", clientId, registerId,
+                    clientRegisters[clientId]);
+        }
+        if (started.get(clientId)) {
+            violation("Obsługa klienta %d rozpoczęta drugi raz", clientId);
+        }
+        if (servingClient[registerId] != 0) {
+            violation("W kasie %d obsługiwani naraz klienci %d i %d", registerId, servingClient[registerId], clientId);
+        }
+        started.set(clientId);
+        servingClient[registerId] = clientId;
+    }
+
+    @Override
+    public synchronized void serviceFinished(long time, int clientId, int registerId, int cashierId) {
+        if (!started.get(clientId)) {
+            violation("Obsługa klienta %d zakończona bez rozpoczęcia", clientId);
+        }
+        if (finished.get(clientId)) {
+            violation("Klient %d obsłużony drugi raz", clientId);
+        }
+        if (servingClient[registerId] == clientId) {
+            servingClient[registerId] = 0;
+        }
+        finished.set(clientId);
+        finishedClients++;
+    }
+
+    @Override
+    public synchronized void registerClosed(long time, int registerId) {
+        if (!closed[registerId]) {
+            closed[registerId] = true;
+            closedRegisters++;
+        }
+        if (closedRegisters > 1) {
+            violation("Zamkniętych naraz jest %d kas", closedRegisters);
+        }
+    }
+
+    @Override
+    public synchronized void registerOpened(long time, int registerId) {
+        if (closed[registerId]) {
+            closed[registerId] = false;
+            closedRegisters--;
+        }
+        if (activeOperation == registerId) {
+            activeOperation = 0;
+        }
+    }
+
+    @Override
+    public synchronized void breakStarted(long time, int registerId) {
+        startOperation(registerId, "przerwa");
+    }
+
+    @Override
+    public synchronized void cashierChangeStarted(long time, int registerId) {
+        startOperation(registerId, "zmiana");
+        cashierChanges++;
+    }
+
+    private void startOperation(int registerId, String operation) {
+        if (activeOperation != 0 && activeOperation != registerId) {
+            violation("W kasie %d zaczyna się %s, gdy trwa operacja w kasie %d", registerId, operation, activeOperation);
+        }
+        activeOperation = registerId;
+    }
+
+    // Sprawdzenie stanu końcowego: każdy z klientów 1..clients obsłużony albo odszedł
+    public synchronized List<String> verify(int clients) {
+        List<String> result = new ArrayList<>(violations);
+        BitSet done = finished.get(1, clients + 1);
+        done.or(left.get(1, clients + 1));
+        int missing = clients - done.cardinality();
+        if (missing > 0) {
+            result.add(String.format("Nie obsłużono %d z %d klientów (pierwszy: %d)", missing, clients,
+                    done.nextClearBit(0) + 1));
+        }
+        if (finishedClients + leftClients != clients) {
+            result.add(String.format("Obsłużeni (%d) i ci, którzy odeszli (%d), nie sumują się do liczby klientów %d",
+                    finishedClients, leftClients, clients));
+        }
+        return result;
+    }
+
+    public synchronized int getCashierChanges() {
+        return cashierChanges;
+    }
+
+    public synchronized int getFinishedClients() {
+        return finishedClients;
+    }
+
+    public synchronized int getLeftClients() {
+        return leftClients;
+    }
+}
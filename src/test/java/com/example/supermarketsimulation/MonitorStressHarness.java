@@ -0,0 +1,227 @@
+package com.example.supermarketsimulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Test obciążeniowy monitora: wiele przyspieszonych symulacji naraz, z losowymi opóźnieniami wstrzykiwanymi
+// w sekcje krytyczne, sprawdzanie niezmienników (InvariantChecker) i pomiar przepustowości
+class MonitorStressHarness {
+    private static final int MAX_REPORTED_FAILURES = 10;
+
+    private final int simulations;
+    private final int parallelism;
+    private final SimulationParameters parameters;
+    private final double speedup;
+    private final long timeoutMillis; // Limit czasu rzeczywistego na jedną symulację
+    private final AtomicInteger failedSimulations = new AtomicInteger();
+    private final AtomicLong totalRunNanos = new AtomicLong();
+    private final AtomicLong maxRunNanos = new AtomicLong();
+    private final AtomicLong cashierChanges = new AtomicLong(); // Zmiany kasjerów we wszystkich symulacjach
+    private final AtomicLong leftClients = new AtomicLong(); // Klienci, którzy zrezygnowali lub odeszli z kolejki
+    private final AtomicLong jockeyMoves = new AtomicLong();
+    private final List<String> failures = new ArrayList<>();
+
+    public MonitorStressHarness(int simulations, int parallelism, SimulationParameters parameters, double speedup) {
+        this.simulations = simulations;
+        this.parallelism = parallelism;
+        this.parameters = parameters;
+        this.speedup = speedup;
+        this.timeoutMillis = (long) (parameters.worstCaseMillis() / speedup) * 4 + 5_000;
+    }
+
+    // Zegar przyspieszony z losowymi opóźnieniami wybudzeń i oddawaniem procesora w pętli bezczynności
+    private static class JitteryClock implements SimulationClock {
+        private final RealTimeClock clock;
+
+        JitteryClock(double speedup) {
+            this.clock = new RealTimeClock(0, speedup);
+        }
+
+        @Override
+        public long now() {
+            return clock.now();
+        }
+
+        @Override
+        public void sleep(long millis) throws InterruptedException {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            clock.sleep(millis + random.nextInt(0, 3));
+            if (random.nextInt(4) == 0) {
+                Thread.yield();
+            }
+        }
+
+        @Override
+        public void idle() {
+            switch (ThreadLocalRandom.current().nextInt(3)) {
+                case 0 -> Thread.onSpinWait();
+                case 1 -> Thread.yield();
+                default -> LockSupport.parkNanos(20_000);
+            }
+        }
+
+        @Override
+        public Thread newThread(Runnable task) {
+            return clock.newThread(task);
+        }
+    }
+
+    // Widok bez rysowania, który wydłuża sekcje krytyczne monitora (jego metody są wołane pod zamkami)
+    private static class DelayInjectingView implements SimulationView {
+        @Override
+        public boolean isLogging() {
+            return false;
+        }
+
+        private void delay() {
+            switch (ThreadLocalRandom.current().nextInt(8)) {
+                case 0 -> Thread.yield();
+                case 1 -> LockSupport.parkNanos(ThreadLocalRandom.current().nextInt(1_000, 50_000));
+                default -> {
+                }
+            }
+        }
+
+        @Override
+        public void createClientCircle(int clientId) {
+            delay();
+        }
+
+        @Override
+        public void moveClientToCashRegister(int clientId, int registerId) {
+            delay();
+        }
+
+        @Override
+        public void shiftClientCirclesUp(int registerId) {
+            delay();
+        }
+
+        @Override
+        public void updateClientState(int clientId, ClientState state) {
+            delay();
+        }
+
+        @Override
+        public void removeClientCircle(int clientId) {
+            delay();
+        }
+
+        @Override
+        public void createCashierCircle(int registerId) {
+            delay();
+        }
+
+        @Override
+        public void removeCashierCircle(int registerId) {
+            delay();
+        }
+
+        @Override
+        public void updateCashRegisterState(int registerId, RegisterState state) {
+            delay();
+        }
+    }
+
+    // Wykonanie wszystkich symulacji; true, jeśli żaden niezmiennik nie został naruszony
+    public boolean run() throws InterruptedException {
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<Future<?>> results = new ArrayList<>(simulations);
+            for (int i = 0; i < simulations; i++) {
+                int simulationIndex = i + 1;
+                results.add(executor.submit(() -> {
+                    runSimulation(simulationIndex);
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    failedSimulations.incrementAndGet();
+                    recordFailure("Wyjątek w symulacji: " + e.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("Symulacje: %d (równolegle %d), kasy: %d, klienci: %d, przyspieszenie: %.0fx%n",
+                simulations, parallelism, parameters.getRegisters(), parameters.getClients(), speedup);
+        System.out.printf("Czas: %.2f s, %.1f symulacji/s, %.0f klientów/s%n", seconds, simulations / seconds,
+                (double) simulations * parameters.getClients() / seconds);
+        System.out.printf("Czas symulacji: średni %.1f ms, maksymalny %.1f ms%n",
+                totalRunNanos.get() / 1e6 / simulations, maxRunNanos.get() / 1e6);
+        System.out.printf("Zmiany kasjerów: %d, klienci, którzy odeszli: %d, zmiany kolejki: %d%n",
+                cashierChanges.get(), leftClients.get(), jockeyMoves.get());
+        System.out.printf("Nieudane symulacje: %d%n", failedSimulations.get());
+        synchronized (failures) {
+            for (String failure : failures) {
+                System.out.println("  " + failure);
+            }
+        }
+        return failedSimulations.get() == 0;
+    }
+
+    private void runSimulation(int simulationIndex) throws InterruptedException {
+        SupermarketSimulation simulation = new SupermarketSimulation(parameters, new DelayInjectingView(),
+                new JitteryClock(speedup));
+        InvariantChecker checker = new InvariantChecker(parameters.getRegisters());
+        simulation.addListener(checker);
+
+        long start = System.nanoTime();
+        simulation.start();
+        boolean completed = simulation.awaitCompletion(timeoutMillis, TimeUnit.MILLISECONDS);
+        long runNanos = System.nanoTime() - start;
+        totalRunNanos.addAndGet(runNanos);
+        maxRunNanos.accumulateAndGet(runNanos, Math::max);
+
+        List<String> violations = new ArrayList<>();
+        if (!completed) {
+            // Zawieszony lub zgubiony kasjer: symulacja nie kończy się, mimo że klienci czekają
+            CashRegistersMonitor.State state = simulation.getMonitor().captureState();
+            violations.add(String.format("Brak zakończenia po %d ms: kolejki %s, otwarte %s, operacje %s, "
+                            + "aktywna operacja %b, oczekiwani klienci %d", timeoutMillis,
+                    Arrays.deepToString(state.queues()), Arrays.toString(state.openStatus()),
+                    Arrays.toString(state.operationQueue()), state.operationActive(), state.totalClients()));
+            simulation.stop();
+        }
+        violations.addAll(checker.verify(parameters.getClients()));
+        cashierChanges.addAndGet(checker.getCashierChanges());
+        leftClients.addAndGet(checker.getLeftClients());
+        jockeyMoves.addAndGet(simulation.getMonitor().getJockeyMoves());
+        int expectedCashiers = parameters.getRegisters() + checker.getCashierChanges();
+        if (simulation.getAllCashiers() != expectedCashiers) {
+            violations.add(String.format("Kasjerów %d, a powinno być %d (%d zmian)", simulation.getAllCashiers(),
+                    expectedCashiers, checker.getCashierChanges()));
+        }
+
+        if (!violations.isEmpty()) {
+            failedSimulations.incrementAndGet();
+            for (String violation : violations) {
+                recordFailure("Symulacja " + simulationIndex + ": " + violation);
+            }
+        }
+    }
+
+    private void recordFailure(String failure) {
+        synchronized (failures) {
+            if (failures.size() < MAX_REPORTED_FAILURES) {
+                failures.add(failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.supermarketsimulation;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+// Krótki przebieg harnessu (kilka symulacji z przyspieszonym zegarem) w zwykłym zestawie testów.
+// Pełny test obciążeniowy: mvn test -Dtest=MonitorStressHarnessTest -Dstress.simulations=1000
+// (opcjonalnie -Dstress.parallelism, -Dstress.registers, -Dstress.clients, -Dstress.speedup, -Dstress.behavior)
+class MonitorStressHarnessTest {
+
+    @Test
+    void simulationsKeepMonitorInvariants() throws InterruptedException {
+        SimulationParameters parameters = new SimulationParameters(40, 3, 300, 900, 500, 1200, 1)
+                .withClientBehavior(new ClientBehavior(2, 700, 1));
+        assertTrue(new MonitorStressHarness(8, 4, parameters, 100).run());
+    }
+
+    @Test
+    void simulationsWithoutClientBehaviorKeepMonitorInvariants() throws InterruptedException {
+        SimulationParameters parameters = new SimulationParameters(40, 4, 300, 900, 500, 1200, 1);
+        assertTrue(new MonitorStressHarness(8, 4, parameters, 100).run());
+    }
+
+    @Test
+    void configuredStressRunKeepsMonitorInvariants() throws InterruptedException {
+        int simulations = Integer.getInteger("stress.simulations", 4);
+        int parallelism = Integer.getInteger("stress.parallelism", Runtime.getRuntime().availableProcessors() * 4);
+        int registers = Integer.getInteger("stress.registers", 3);
+        int clients = Integer.getInteger("stress.clients", 150);
+        double speedup = Double.parseDouble(System.getProperty("stress.speedup", "50"));
+        boolean clientBehavior = Boolean.parseBoolean(System.getProperty("stress.behavior", "true"));
+        // Krótkie kolejki (klienci przychodzą wolniej, niż są obsługiwani), żeby zamykana kasa szybko się
+        // opróżniała, a przerwy i zmiany kasjerów zdarzały się w każdej symulacji
+        SimulationParameters parameters = new SimulationParameters(clients, registers, 300, 900, 500, 1200, 1);
+        if (clientBehavior) {
+            // Niskie progi i krótka cierpliwość: przy trzech kasach klienci często zmieniają kolejki i odchodzą,
+            // a kolejki nadal są na tyle krótkie, że przerwy i zmiany kasjerów się zdarzają
+            parameters = parameters.withClientBehavior(new ClientBehavior(2, 700, 1));
+        }
+        assertTrue(new MonitorStressHarness(simulations, parallelism, parameters, speedup).run());
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.supermarketsimulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class QueueLengthIndexTest {
+
+    @Test
+    void tiesGoToLowestRegister() {
+        QueueLengthIndex index = new QueueLengthIndex(5);
+        assertEquals(0, index.shortestOpen());
+        assertEquals(0, index.longest());
+
+        index.add(0, 1);
+        index.add(3, 2);
+        index.add(4, 2);
+        assertEquals(1, index.shortestOpen());
+        assertEquals(3, index.longest());
+
+        index.add(1, 1);
+        index.add(2, 1);
+        assertEquals(0, index.shortestOpen());
+    }
+
+    @Test
+    void closedRegistersAreNotShortestButCanBeLongest() {
+        QueueLengthIndex index = new QueueLengthIndex(3);
+        index.add(0, 4);
+        index.add(2, 1);
+        index.setOpen(1, false);
+        assertEquals(2, index.shortestOpen());
+        index.setOpen(0, false);
+        assertEquals(0, index.longest());
+
+        index.setOpen(2, false);
+        assertEquals(-1, index.shortestOpen());
+        index.setOpen(1, true);
+        assertEquals(1, index.shortestOpen());
+    }
+
+    @Test
+    void matchesLinearScanAfterRandomChanges() {
+        Random random = new Random(3);
+        for (int registers = 1; registers <= 9; registers++) {
+            QueueLengthIndex index = new QueueLengthIndex(registers);
+            int[] lengths = new int[registers];
+            boolean[] open = new boolean[registers];
+            Arrays.fill(open, true);
+            for (int step = 0; step < 2000; step++) {
+                int register = random.nextInt(registers);
+                if (random.nextInt(5) == 0) {
+                    open[register] = !open[register];
+                    index.setOpen(register, open[register]);
+                } else {
+                    int delta = lengths[register] > 0 && random.nextBoolean() ? -1 : 1;
+                    lengths[register] += delta;
+                    index.add(register, delta);
+                }
+                int shortest = -1;
+                int longest = 0;
+                for (int i = 0; i < registers; i++) {
+                    if (open[i] && (shortest < 0 || lengths[i] < lengths[shortest])) {
+                        shortest = i;
+                    }
+                    if (lengths[i] > lengths[longest]) {
+                        longest = i;
+                    }
+                }
+                assertEquals(shortest, index.shortestOpen());
+                assertEquals(longest, index.longest());
+                assertEquals(lengths[register], index.length(register));
+            }
+        }
+    }
+}
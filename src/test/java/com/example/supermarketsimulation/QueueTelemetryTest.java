@@ -0,0 +1,81 @@
+package com.example.supermarketsimulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class QueueTelemetryTest {
+    private static final double DELTA = 1e-9;
+
+    // Kolejka kasy 1: 1 osoba od 1 s, 2 osoby od 2 s, 1 osoba od 3 s
+    private static QueueTelemetry telemetry() {
+        QueueTelemetry telemetry = new QueueTelemetry(2, 0);
+        telemetry.recordArrival(0, 1000, 1);
+        telemetry.recordArrival(0, 2000, 2);
+        telemetry.recordDeparture(0, 3000, 1);
+        return telemetry;
+    }
+
+    @Test
+    void shortWindowCoversOnlyItsSlots() {
+        QueueTelemetry.Window window = telemetry().window(0, 1, 3500);
+        assertEquals(1, window.registerId());
+        assertEquals(1, window.length());
+        assertEquals(2, window.maxLength());
+        assertEquals(1.5, window.meanLength(), DELTA); // 2 osoby przez 0.5 s, 1 osoba przez 0.5 s
+        assertEquals(0, window.arrivalRate(), DELTA);
+        assertEquals(1, window.departureRate(), DELTA);
+    }
+
+    @Test
+    void windowDoesNotReachBeforeStart() {
+        QueueTelemetry.Window window = telemetry().window(0, 10, 3500);
+        assertEquals(2, window.maxLength());
+        assertEquals(1.0, window.meanLength(), DELTA); // (1 * 1 s + 2 * 1 s + 1 * 0.5 s) / 3.5 s
+        assertEquals(2 / 3.5, window.arrivalRate(), DELTA);
+        assertEquals(1 / 3.5, window.departureRate(), DELTA);
+    }
+
+    @Test
+    void oldSlotsAreOverwritten() {
+        QueueTelemetry telemetry = telemetry();
+        telemetry.recordDeparture(0, 100_000, 0);
+        QueueTelemetry.Window window = telemetry.window(0, 60, 100_000);
+        assertEquals(0, window.length());
+        assertEquals(1, window.maxLength());
+        assertEquals(1.0, window.meanLength(), DELTA); // 1 osoba przez całe okno
+        assertEquals(0, window.arrivalRate(), DELTA);
+        assertEquals(1 / 60.0, window.departureRate(), DELTA);
+
+        // Bez zdarzeń przez pełne okno zostaje tylko bieżąca długość
+        QueueTelemetry.Window later = telemetry.window(0, 60, 200_000);
+        assertEquals(0, later.maxLength());
+        assertEquals(0, later.meanLength(), DELTA);
+        assertEquals(0, later.departureRate(), DELTA);
+    }
+
+    @Test
+    void emptyWindowReportsCurrentLength() {
+        QueueTelemetry.Window window = new QueueTelemetry(1, 5000).window(0, 1, 5000);
+        assertEquals(0, window.length());
+        assertEquals(0, window.meanLength(), DELTA);
+        assertEquals(0, window.arrivalRate(), DELTA);
+    }
+
+    @Test
+    void hottestPrefersLongerMeanThenLowerRegister() {
+        QueueTelemetry telemetry = telemetry();
+        assertEquals(1, telemetry.hottest(1, 3500).registerId());
+        telemetry.recordArrival(1, 2500, 2);
+        assertEquals(2, telemetry.hottest(1, 3500).registerId());
+        assertEquals(1, new QueueTelemetry(3, 0).hottest(10, 1000).registerId());
+    }
+
+    @Test
+    void windowLengthIsLimited() {
+        assertThrows(IllegalArgumentException.class, () -> telemetry().window(0, 0, 1000));
+        assertThrows(IllegalArgumentException.class,
+                () -> telemetry().window(0, QueueTelemetry.MAX_WINDOW_SECONDS + 1, 1000));
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.supermarketsimulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SimulationCliTest {
+
+    @Test
+    void successfulScenariosExitWithZero(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("maly.properties");
+        Files.writeString(file, "clients=30\nregisters=2\nseed=1\nrepeat=2\n");
+        assertEquals(SimulationCli.EXIT_OK, SimulationCli.run(new String[] {"clients=40", "registers=3", "seed=4"}));
+        assertEquals(SimulationCli.EXIT_OK, SimulationCli.run(new String[] {file.toString(), "registers=3"}));
+        assertEquals(SimulationCli.EXIT_OK, SimulationCli.run(new String[] {"clients=20", "registers=2",
+                "clock=real", "speedup=1000", "report=10"}));
+    }
+
+    @Test
+    void invalidScenariosExitWithTwo(@TempDir Path directory) {
+        assertEquals(SimulationCli.EXIT_USAGE, SimulationCli.run(new String[0]));
+        assertEquals(SimulationCli.EXIT_USAGE,
+                SimulationCli.run(new String[] {directory.resolve("brak.properties").toString()}));
+        assertEquals(SimulationCli.EXIT_USAGE, SimulationCli.run(new String[] {"clients=40"}));
+        assertEquals(SimulationCli.EXIT_USAGE, SimulationCli.run(new String[] {"clients=40", "registers=1"}));
+        assertEquals(SimulationCli.EXIT_USAGE, SimulationCli.run(new String[] {"clients=40", "registers=3",
+                "cashierMinTime=-3000", "clock=real", "speedup=1000"}));
+        assertEquals(SimulationCli.EXIT_USAGE, SimulationCli.run(new String[] {"clients=40", "registers=3",
+                "clock=atomic"}));
+        assertEquals(SimulationCli.EXIT_USAGE, SimulationCli.run(new String[] {"clients=40", "registers=3",
+                "repeat=0"}));
+    }
+
+    @Test
+    void interruptedRunExitsWithOne() {
+        Thread.currentThread().interrupt();
+        try {
+            assertEquals(SimulationCli.EXIT_FAILED, SimulationCli.run(new String[] {"clients=20", "registers=2",
+                    "clock=real", "speedup=1000"}));
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.supermarketsimulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SimulationMetricsTest {
+
+    @Test
+    void mergedMetricsEqualMetricsOfAllRecords() {
+        Random random = new Random(9);
+        SimulationMetrics first = new SimulationMetrics();
+        SimulationMetrics second = new SimulationMetrics();
+        SimulationMetrics all = new SimulationMetrics();
+        for (int i = 1; i <= 3000; i++) {
+            long arrival = i * 700L;
+            // Drugi sklep ma dłuższe kolejki, więc rozkłady się różnią
+            long start = arrival + (long) (random.nextDouble() * (i % 2 == 0 ? 60_000 : 5_000));
+            ClientRecord record = new ClientRecord(i, arrival, 1, 0, start, start + 5000 + random.nextInt(1000), 1);
+            (i % 2 == 0 ? second : first).write(record);
+            all.write(record);
+        }
+        ClientRecord unknownArrival = new ClientRecord(0, -1, 1, -1, 100, 5100, 1);
+        first.write(unknownArrival);
+        all.write(unknownArrival);
+
+        SimulationMetrics merged = new SimulationMetrics();
+        merged.merge(first);
+        merged.merge(second);
+        assertEquals(all.getClients(), merged.getClients());
+        assertEquals(all.getMeanWait(), merged.getMeanWait(), 1e-9);
+        assertEquals(all.getMaxWait(), merged.getMaxWait());
+        assertEquals(all.getMeanService(), merged.getMeanService(), 1e-9);
+        assertEquals(all.getLastServiceEnd(), merged.getLastServiceEnd());
+        for (int percentile = 1; percentile <= 100; percentile++) {
+            assertEquals(all.getWaitPercentile(percentile), merged.getWaitPercentile(percentile), "p" + percentile);
+        }
+    }
+
+    @Test
+    void percentileIsWithinHistogramAccuracy() {
+        SimulationMetrics metrics = new SimulationMetrics();
+        for (int wait = 0; wait < 1000; wait++) {
+            metrics.write(new ClientRecord(wait, 0, 1, 0, wait, wait + 1, 1));
+        }
+        assertEquals(999, metrics.getMaxWait());
+        assertEquals(499.5, metrics.getMeanWait(), 1e-9);
+        long median = metrics.getWaitPercentile(50);
+        assertEquals(499, median, 499 * 0.125);
+        assertEquals(999, metrics.getWaitPercentile(100));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.supermarketsimulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Properties;
+import org.junit.jupiter.api.Test;
+
+class SimulationParametersTest {
+
+    private static Properties properties(String... entries) {
+        Properties properties = new Properties();
+        for (String entry : entries) {
+            int separator = entry.indexOf('=');
+            properties.setProperty(entry.substring(0, separator), entry.substring(separator + 1));
+        }
+        return properties;
+    }
+
+    private static void assertRejected(String... entries) {
+        assertThrows(IllegalArgumentException.class, () -> SimulationParameters.fromProperties(properties(entries)));
+    }
+
+    @Test
+    void missingValuesHaveDefaults() {
+        SimulationParameters parameters = SimulationParameters.fromProperties(properties("clients=50", "registers=3"));
+        SimulationParameters defaults = SimulationParameters.defaults(50, 3);
+        assertEquals(50, parameters.getClients());
+        assertEquals(3, parameters.getRegisters());
+        assertEquals(defaults.getClientMinTime(), parameters.getClientMinTime());
+        assertEquals(defaults.getClientMaxTime(), parameters.getClientMaxTime());
+        assertEquals(defaults.getCashierMinTime(), parameters.getCashierMinTime());
+        assertEquals(defaults.getCashierMaxTime(), parameters.getCashierMaxTime());
+        assertEquals(defaults.getSimulationTime(), parameters.getSimulationTime());
+        assertFalse(parameters.isSeeded());
+        assertEquals(ClientBehavior.NONE, parameters.getClientBehavior());
+    }
+
+    @Test
+    void givenValuesAreParsed() {
+        SimulationParameters parameters = SimulationParameters.fromProperties(properties("clients= 80 ",
+                "registers=4", "clientMinTime=100", "clientMaxTime=200", "cashierMinTime=0", "cashierMaxTime=0",
+                "simulationTime=0", "seed=-42", "balkQueueLength=5", "patience=30000", "jockeyThreshold=2"));
+        assertEquals(80, parameters.getClients());
+        assertEquals(100, parameters.getClientMinTime());
+        assertEquals(200, parameters.getClientMaxTime());
+        assertEquals(0, parameters.getCashierMaxTime());
+        assertTrue(parameters.isSeeded());
+        assertEquals(-42, parameters.getSeed());
+        assertEquals(new ClientBehavior(5, 30_000, 2), parameters.getClientBehavior());
+    }
+
+    @Test
+    void requiredAndMalformedValuesAreRejected() {
+        assertRejected("registers=3");
+        assertRejected("clients=50");
+        assertRejected("clients=pięćdziesiąt", "registers=3");
+        assertRejected("clients=50", "registers=3", "seed=abc");
+    }
+
+    @Test
+    void inconsistentValuesAreRejected() {
+        assertRejected("clients=0", "registers=3");
+        assertRejected("clients=50", "registers=1");
+        assertRejected("clients=50", "registers=3", "cashierMinTime=-3000");
+        assertRejected("clients=50", "registers=3", "clientMinTime=-1");
+        assertRejected("clients=50", "registers=3", "simulationTime=-1");
+        assertRejected("clients=50", "registers=3", "clientMinTime=3000", "clientMaxTime=3000");
+        assertRejected("clients=50", "registers=3", "cashierMinTime=7000", "cashierMaxTime=6000");
+        assertRejected("clients=50", "registers=3", "patience=-1");
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.supermarketsimulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SimulationSnapshotTest {
+    private static final SimulationParameters PARAMETERS = SimulationParameters.defaults(120, 3).withSeed(5)
+            .withClientBehavior(new ClientBehavior(6, 40_000, 2));
+    private static final long SNAPSHOT_TIME = 60_000;
+
+    // Czasy przyjść i obsługi klientów
+    private static class Recorder implements SimulationListener {
+        final Map<Integer, Long> arrivals = new TreeMap<>();
+        final Map<Integer, Long> serviceStarts = new HashMap<>();
+        final Map<Integer, Long> serviceEnds = new HashMap<>();
+
+        @Override
+        public synchronized void clientEntered(long time, int clientId, int registerId, int queueLength) {
+            arrivals.putIfAbsent(clientId, time);
+        }
+
+        @Override
+        public synchronized void clientBalked(long time, int clientId, int queueLength) {
+            arrivals.putIfAbsent(clientId, time);
+        }
+
+        @Override
+        public synchronized void serviceStarted(long time, int clientId, int registerId, int cashierId) {
+            serviceStarts.put(clientId, time);
+        }
+
+        @Override
+        public synchronized void serviceFinished(long time, int clientId, int registerId, int cashierId) {
+            serviceEnds.put(clientId, time);
+        }
+
+        synchronized long serviceTime(int clientId) {
+            return serviceEnds.get(clientId) - serviceStarts.get(clientId);
+        }
+    }
+
+    // Symulacja zatrzymana w chwili SNAPSHOT_TIME
+    private static SupermarketSimulation pausedSimulation() {
+        VirtualClock clock = new VirtualClock();
+        SupermarketSimulation simulation = new SupermarketSimulation(PARAMETERS, SimulationView.SILENT, clock);
+        simulation.start();
+        assertTrue(clock.runUntil(SNAPSHOT_TIME));
+        return simulation;
+    }
+
+    @Test
+    void bytesRoundTripKeepsState() throws IOException {
+        SimulationSnapshot snapshot = pausedSimulation().snapshot();
+        byte[] bytes = snapshot.toBytes();
+        SimulationSnapshot restored = SimulationSnapshot.fromBytes(bytes);
+
+        assertArrayEquals(bytes, restored.toBytes());
+        assertEquals(SNAPSHOT_TIME, restored.getElapsedMillis());
+        assertEquals(snapshot.getAllCashiers(), restored.getAllCashiers());
+        assertEquals(snapshot.getArrivalRandomState(), restored.getArrivalRandomState());
+        assertEquals(PARAMETERS.getSeed(), restored.getParameters().getSeed());
+        assertEquals(PARAMETERS.getClientBehavior(), restored.getParameters().getClientBehavior());
+        CashRegistersMonitor.State state = snapshot.getMonitorState();
+        CashRegistersMonitor.State restoredState = restored.getMonitorState();
+        assertEquals(state.announcedClients(), restoredState.announcedClients());
+        assertArrayEquals(state.queues(), restoredState.queues());
+        assertArrayEquals(state.openStatus(), restoredState.openStatus());
+        assertArrayEquals(state.operationQueue(), restoredState.operationQueue());
+        assertArrayEquals(state.patienceDeadlines(), restoredState.patienceDeadlines());
+        assertEquals(snapshot.getCashierStates().size(), restored.getCashierStates().size());
+    }
+
+    @Test
+    void unsupportedVersionIsRejected() throws IOException {
+        byte[] bytes = pausedSimulation().snapshot().toBytes();
+        bytes[0] = 0x7f;
+        assertThrows(IOException.class, () -> SimulationSnapshot.fromBytes(bytes));
+    }
+
+    @Test
+    void checkpointFileHoldsLatestSnapshot(@TempDir Path directory) throws IOException {
+        SupermarketSimulation simulation = pausedSimulation();
+        Path file = directory.resolve("symulacja.ckpt");
+        try (SimulationCheckpointer checkpointer = new SimulationCheckpointer(simulation, file, 60_000)) {
+            checkpointer.writeCheckpoint();
+            long size = Files.size(file);
+            checkpointer.writeCheckpoint(); // Stan się nie zmienił - plik zostaje bez zmian
+            assertEquals(size, Files.size(file));
+        }
+        assertArrayEquals(simulation.snapshot().toBytes(), SimulationCheckpointer.read(file).toBytes());
+        assertFalse(Files.exists(directory.resolve("symulacja.ckpt.tmp")));
+    }
+
+    @Test
+    void resumedCheckpointIsKeptUntilReplaced(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("symulacja.ckpt");
+        SupermarketSimulation simulation = pausedSimulation();
+        try (SimulationCheckpointer checkpointer = new SimulationCheckpointer(simulation, file, 60_000)) {
+            checkpointer.writeCheckpoint();
+        }
+        byte[] saved = SimulationCheckpointer.read(file).toBytes();
+
+        // Nowy zapis do tego samego pliku (jak po wznowieniu): poprzedni punkt kontrolny zostaje do pierwszego
+        // zapisu, który następuje od razu, bez czekania na pierwszy odstęp
+        SupermarketSimulation resumed = new SupermarketSimulation(SimulationSnapshot.fromBytes(saved),
+                SimulationView.SILENT, new VirtualClock(SNAPSHOT_TIME));
+        try (SimulationCheckpointer checkpointer = new SimulationCheckpointer(resumed, file, 60_000)) {
+            assertTrue(Files.exists(file));
+            SimulationCheckpointer.read(file);
+        }
+        assertArrayEquals(resumed.snapshot().toBytes(), SimulationCheckpointer.read(file).toBytes());
+    }
+
+    @Test
+    void damagedCheckpointIsRejected(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("symulacja.ckpt");
+        try (SimulationCheckpointer checkpointer = new SimulationCheckpointer(pausedSimulation(), file, 60_000)) {
+            checkpointer.writeCheckpoint();
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> SimulationCheckpointer.read(file));
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5));
+        assertThrows(IOException.class, () -> SimulationCheckpointer.read(file));
+    }
+
+    @Test
+    void restoredSeededRunDrawsSameArrivalsAndServices() throws Exception {
+        Recorder full = new Recorder();
+        SupermarketSimulation uninterrupted = new SupermarketSimulation(PARAMETERS, SimulationView.SILENT,
+                new VirtualClock());
+        uninterrupted.addListener(full);
+        uninterrupted.runToCompletion();
+
+        SimulationSnapshot snapshot = SimulationSnapshot.fromBytes(pausedSimulation().snapshot().toBytes());
+        Recorder resumed = new Recorder();
+        SupermarketSimulation restored = new SupermarketSimulation(snapshot, SimulationView.SILENT,
+                new VirtualClock(snapshot.getElapsedMillis()));
+        restored.addListener(resumed);
+        restored.runToCompletion();
+
+        // Odstępy między przyjściami po zrzucie
+        int announced = snapshot.getMonitorState().announcedClients();
+        assertTrue(announced + 1 < PARAMETERS.getClients());
+        for (int clientId = announced + 1; clientId < PARAMETERS.getClients(); clientId++) {
+            assertEquals(full.arrivals.get(clientId + 1) - full.arrivals.get(clientId),
+                    resumed.arrivals.get(clientId + 1) - resumed.arrivals.get(clientId), "klient " + (clientId + 1));
+        }
+        // Obsługi przerwane zrzutem zaczynają się od nowa i trwają tyle samo
+        int interrupted = 0;
+        for (int[] queue : snapshot.getMonitorState().queues()) {
+            if (queue.length > 0 && full.serviceStarts.getOrDefault(queue[0], Long.MAX_VALUE) <= SNAPSHOT_TIME) {
+                assertEquals(full.serviceTime(queue[0]), resumed.serviceTime(queue[0]), "klient " + queue[0]);
+                interrupted++;
+            }
+        }
+        assertTrue(interrupted > 0);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.supermarketsimulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class StoreExchangeTest {
+
+    @Test
+    void clientGoesToLessLoadedNeighbor() {
+        StoreExchange store = new StoreExchange(0, 3);
+        StoreExchange busy = new StoreExchange(1, 3);
+        StoreExchange quiet = new StoreExchange(2, 3);
+        store.setNeighbors(List.of(busy, quiet));
+        busy.publishLoad(3);
+        quiet.publishLoad(1);
+
+        assertFalse(store.tryTransferOut(2)); // Poniżej progu
+        assertTrue(store.tryTransferOut(3));
+        assertEquals(0, busy.drainIncoming());
+        assertEquals(1, quiet.drainIncoming());
+        assertEquals(1, store.getTransfersOut());
+        assertEquals(1, quiet.getTransfersIn());
+
+        quiet.publishLoad(3);
+        assertFalse(store.tryTransferOut(3)); // Sąsiedzi nie mają krótszych kolejek
+    }
+
+    @Test
+    void storeClosesOnlyWithoutPendingClients() {
+        StoreExchange store = new StoreExchange(0, 1);
+        StoreExchange neighbor = new StoreExchange(1, 1);
+        store.setNeighbors(List.of(neighbor));
+        neighbor.setNeighbors(List.of(store));
+
+        assertTrue(store.tryTransferOut(5));
+        assertFalse(neighbor.tryClose()); // Klient w drodze
+        assertEquals(1, neighbor.drainIncoming());
+        assertTrue(neighbor.tryClose());
+        assertFalse(store.tryTransferOut(5)); // Zamknięty sąsiad nie przyjmuje klientów
+        assertEquals(1, store.getTransfersOut());
+    }
+}